@@ -0,0 +1,62 @@
+import com.sun.net.httpserver.HttpServer;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+
+import java.io.ByteArrayOutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Minimal SPARQL endpoint used by test-import.sh: answers CONSTRUCT queries on /sparql from a local
+// file, fails every n-th request with a 503 and delays each answer to simulate a remote endpoint.
+// Launched with: java -cp ../target/rdfs-generator.jar SparqlTestEndpoint.java <data_file> <port> <fail_every> <delay_ms>
+public class SparqlTestEndpoint {
+
+    public static void main(String[] args) throws Exception {
+        Model data = RDFDataMgr.loadModel(args[0]);
+        int port = Integer.parseInt(args[1]);
+        int failEvery = Integer.parseInt(args[2]);
+        long delayMillis = Long.parseLong(args[3]);
+
+        AtomicInteger requests = new AtomicInteger();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/sparql", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                int request = requests.incrementAndGet();
+                String query = URLDecoder.decode(exchange.getRequestURI().getRawQuery().replaceFirst("^query=", "").replaceAll("&.*$", ""), StandardCharsets.UTF_8);
+                Thread.sleep(delayMillis);
+                if (failEvery > 0 && request % failEvery == 0) {
+                    System.err.println("Request " + request + " failed on purpose");
+                    exchange.sendResponseHeaders(503, -1);
+                    return;
+                }
+
+                Model result;
+                synchronized (data) {
+                    result = QueryExecutionFactory.create(query, data).execConstruct();
+                }
+                ByteArrayOutputStream body = new ByteArrayOutputStream();
+                RDFDataMgr.write(body, result, Lang.NTRIPLES);
+                exchange.getResponseHeaders().add("Content-Type", "application/n-triples");
+                exchange.sendResponseHeaders(200, body.size());
+                exchange.getResponseBody().write(body.toByteArray());
+                System.err.println("Request " + request + " answered, max in flight: " + maxInFlight.get());
+            } catch (Exception e) {
+                e.printStackTrace();
+            } finally {
+                exchange.close();
+                inFlight.decrementAndGet();
+            }
+        });
+        server.start();
+        System.err.println("Endpoint ready on http://localhost:" + port + "/sparql");
+    }
+}
@@ -1,6 +1,7 @@
 #!/bin/bash
 
 # Script pour exécuter les requêtes SPARQL et capturer les résultats
+# Le modèle est chargé et inféré une seule fois pour toutes les requêtes
 
 OUTPUT_FILE="../result/resultats_requetes.txt"
 
@@ -31,33 +32,15 @@ queries=(
     "federated-request:Requête fédérée (SERVICE)"
 )
 
+files=()
 for query in "${queries[@]}"; do
     IFS=':' read -r file desc <<< "$query"
-    
     echo "Exécution: $desc"
-    
-    {
-        echo ""
-        echo "=========================================="
-        echo "REQUÊTE: $desc"
-        echo "Fichier: ../queries/${file}.sparql"
-        echo "=========================================="
-        echo ""
-
-        # Affiche la requête
-        echo "--- Code SPARQL ---"
-        cat "../queries/${file}.sparql"
-        echo ""
-        echo "--- Résultats ---"
-
-        # Exécute et capture les résultats
-        java -jar ../target/rdfs-generator.jar query "../queries/${file}.sparql" ../data/final_file.ttl 2>&1
-        
-        echo ""
-        echo "=========================================="
-        echo ""
-    } >> "$OUTPUT_FILE"
+    files+=("../queries/${file}.sparql=${desc}")
 done
 
+# Exécute toutes les requêtes dans une seule JVM (temps affiché par requête)
+java -jar ../target/rdfs-generator.jar query-batch ../data/final_file.ttl "${files[@]}" >> "$OUTPUT_FILE" 2>&1
+
 echo ""
-echo "Résultats sauvegardés dans: $OUTPUT_FILE"
\ No newline at end of file
+echo "Résultats sauvegardés dans: $OUTPUT_FILE"
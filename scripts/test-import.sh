@@ -0,0 +1,98 @@
+#!/bin/bash
+
+# Script de vérification de l'import paginé (commande request) contre un endpoint SPARQL local
+# qui échoue une requête sur cinq et répond avec un délai, comme un endpoint distant.
+# À lancer depuis le dossier scripts après "mvn package".
+
+JAR="../target/rdfs-generator.jar"
+DATA="../data/ttl/imbd-csv.ttl"
+PORT=3330
+URL="http://localhost:${PORT}/sparql"
+WORK=$(mktemp -d)
+FAILURES=0
+
+cleanup() {
+    [ -n "$ENDPOINT_PID" ] && kill "$ENDPOINT_PID" 2>/dev/null
+    rm -rf "$WORK"
+}
+trap cleanup EXIT
+
+check() {
+    if [ "$1" -eq 0 ]; then
+        echo "OK     $2"
+    else
+        echo "ÉCHEC  $2"
+        FAILURES=$((FAILURES + 1))
+    fi
+}
+
+# Lance un import et l'arrête dès qu'une première page a été écrite
+interrupted_import() {
+    java -jar "$JAR" request "$URL" "$WORK/titles.sparql" "$1" --page-size=500 > /dev/null 2>&1 &
+    local pid=$!
+    until [ -f "$1.checkpoint" ] || ! kill -0 "$pid" 2>/dev/null; do
+        sleep 0.1
+    done
+    kill "$pid" 2>/dev/null
+    wait "$pid" 2>/dev/null
+}
+
+same_triples() {
+    cmp -s <(sort "$1") <(sort "$2")
+}
+
+cat > "$WORK/titles.sparql" <<'EOF'
+PREFIX imdb: <http://example.org/imdb/>
+CONSTRUCT { ?f imdb:title ?t } WHERE { ?f imdb:title ?t } ORDER BY ?f
+EOF
+
+echo "Démarrage de l'endpoint de test sur le port $PORT"
+java -cp "$JAR" SparqlTestEndpoint.java "$DATA" "$PORT" 5 200 2> "$WORK/endpoint.log" &
+ENDPOINT_PID=$!
+until grep -q "Endpoint ready" "$WORK/endpoint.log"; do
+    sleep 1
+done
+
+# Référence : la même requête exécutée localement, sans endpoint
+java -jar "$JAR" query "$WORK/titles.sparql" "$DATA" --materialized --format=nt > "$WORK/expected.nt"
+
+echo "Import avec 4 pages en parallèle et reprise sur erreur"
+java -jar "$JAR" request "$URL" "$WORK/titles.sparql" "$WORK/parallel.nt" --page-size=500 --concurrency=4 > /dev/null 2> "$WORK/parallel.log"
+check $? "l'import se termine malgré les erreurs 503"
+grep -q "retrying" "$WORK/parallel.log"
+check $? "les pages en échec sont retentées"
+same_triples "$WORK/expected.nt" "$WORK/parallel.nt"
+check $? "les triplets importés sont ceux de la requête"
+max=$(grep -o "max in flight: [0-9]*" "$WORK/endpoint.log" | tail -1 | grep -o "[0-9]*$")
+[ "$max" -le 4 ]
+check $? "au plus 4 requêtes simultanées ($max)"
+
+echo "Import interrompu puis repris"
+interrupted_import "$WORK/resumed.nt"
+[ -f "$WORK/resumed.nt.checkpoint" ]
+check $? "un point de reprise subsiste après l'interruption"
+java -jar "$JAR" request "$URL" "$WORK/titles.sparql" "$WORK/resumed.nt" --page-size=500 > "$WORK/resumed.log" 2>&1
+check $? "l'import repris se termine"
+grep -q "Resuming import" "$WORK/resumed.log"
+check $? "l'import repart de la page mémorisée"
+[ ! -f "$WORK/resumed.nt.checkpoint" ]
+check $? "le point de reprise est supprimé à la fin"
+same_triples "$WORK/expected.nt" "$WORK/resumed.nt"
+check $? "les triplets importés sont ceux de la requête"
+
+echo "Reprise sur un fichier cible tronqué"
+interrupted_import "$WORK/truncated.nt"
+: > "$WORK/truncated.nt"
+java -jar "$JAR" request "$URL" "$WORK/titles.sparql" "$WORK/truncated.nt" --page-size=500 > /dev/null 2>&1
+[ $? -ne 0 ]
+check $? "la reprise est refusée"
+[ ! -s "$WORK/truncated.nt" ]
+check $? "aucune page n'est écrite après un trou"
+
+echo ""
+if [ "$FAILURES" -eq 0 ]; then
+    echo "Toutes les vérifications sont passées"
+else
+    echo "$FAILURES vérification(s) en échec"
+    exit 1
+fi
@@ -1,31 +1,42 @@
 package org.example;
 
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.system.StreamRDFWriter;
 import org.example.model.rdfs.NameExtractors;
+import org.example.service.DataIntegrator;
+import org.example.service.ParallelCsvConverter;
 import org.example.service.QueryExecutor;
+import org.example.service.RdfMerger;
+import org.example.service.RdfStreamWriter;
+import org.example.service.RdfsMaterializer;
+import org.example.service.TdbLoader;
+import org.example.service.TtlImporter;
 
 import java.io.*;
-import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.example.service.TtlConverter.convertToTtl;
 import static org.example.service.ClassLoader.loadClass;
-import static org.example.service.CsvReader.readFile;
+import static org.example.service.CsvReader.streamFile;
 import static org.example.service.TtlImporter.importFrom;
 import static org.example.service.TtlWriter.writeRdfsModel;
 import static org.example.service.DataIntegrator.integrateDatasets;
+import static org.example.utils.RdfUtils.getLang;
 
 public class Main {
 
-    public static void main(String[] args) throws IOException, NoSuchFieldException, ClassNotFoundException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+    public static void main(String[] args) throws IOException, ReflectiveOperationException {
         String command = args[0];
         switch (command) {
             case "csv" :
-                generateTurtleFromCsv(args[1], args[2], args[3], args[4], args[5]);
+                generateRdfFromCsv(args[1], args[2], args[3], args[4], args[5], delimiter(option(args, "delimiter", ",")), threads(args), getLang(option(args, "format", null), args[3]));
                 break;
             case "request" :
-                generateTurtleFromRequest(args[1], args[2], args[3]);
+                generateTurtleFromRequest(args[1], args[2], args[3], option(args, "page-size", null), Integer.parseInt(option(args, "retries", "3")), Integer.parseInt(option(args, "concurrency", "1")));
                 break;
             case "convert" :
                 convertToTurtle(args[1], args[2], args.length == 5 ? args[4] : null, args[3]);
@@ -33,29 +44,71 @@ public class Main {
             case "integrate" :
                 integrateData(args);
                 break;
+            case "integrate-add" :
+                addDatasetToIntegration(args);
+                break;
             case "query" :
-                executeQuery(args[1], args[2]);
+                executeQuery(args[1], args[2], Arrays.asList(args).contains("--materialized"), resultOptions(args));
+                break;
+            case "query-batch" :
+                executeQueryBatch(args);
+                break;
+            case "materialize" :
+                RdfsMaterializer.materialize(args[1], args[2]);
+                break;
+            case "load" :
+                TdbLoader.load(args[1], Arrays.asList(args).subList(2, args.length));
                 break;
             case "merge" :
-                mergeFile(args[1], args[2], args[3]);
+                RdfMerger.merge(Arrays.asList(args).subList(1, args.length - 1), args[args.length - 1]);
         }
     }
 
-    private static void mergeFile(String filePath1, String filePath2, String outputFile) throws IOException {
-        String content1 = new String (Files.readAllBytes(Paths.get(filePath1)));
-        String content2 = new String (Files.readAllBytes(Paths.get(filePath2)));
-
-        String result = content1.concat("\n").concat(content2);
-        Files.write(Paths.get(outputFile), result.getBytes());
+    private static void executeQuery(String requestFilePath, String turtleFilePath, boolean materialized, QueryExecutor.ResultOptions options) throws IOException {
+        String request = new String(Files.readAllBytes(Paths.get(requestFilePath)));
+        QueryExecutor.executeQuery(request, turtleFilePath, materialized, options);
     }
 
-    private static void executeQuery(String requestFilePath, String turtleFilePath) throws IOException {
-        String request = new String(Files.readAllBytes(Paths.get(requestFilePath)));
-        QueryExecutor.executeQuery(request, turtleFilePath);
+    private static void executeQueryBatch(String[] args) throws IOException {
+        List<String> paths = Arrays.stream(args).skip(1).filter(arg -> !arg.startsWith("--")).toList();
+        if (paths.size() < 2) {
+            System.err.println("Usage: query-batch <ttl_file|tdb_directory> <query_file[=description]|query_directory>... [--materialized] [--threads=<n>] [--format=<format>] [--limit=<n>] [--offset=<n>]");
+            return;
+        }
+
+        // A query file may be given as <query_file>=<description> to label its results.
+        Map<String, String> queriesByName = new LinkedHashMap<>();
+        for (String path : paths.subList(1, paths.size())) {
+            String description = null;
+            int separator = path.indexOf('=');
+            if (separator > 0 && !Files.exists(Paths.get(path))) {
+                description = path.substring(separator + 1);
+                path = path.substring(0, separator);
+            }
+            List<Path> queryFiles;
+            if (Files.isDirectory(Paths.get(path))) {
+                try (Stream<Path> files = Files.list(Paths.get(path))) {
+                    queryFiles = files.filter(file -> file.toString().endsWith(".sparql")).sorted().toList();
+                }
+            } else {
+                queryFiles = List.of(Paths.get(path));
+            }
+            for (Path queryFile : queryFiles) {
+                queriesByName.put(description != null ? description + " (" + queryFile + ")" : queryFile.toString(), Files.readString(queryFile));
+            }
+        }
+
+        int failures = QueryExecutor.executeQueries(queriesByName, paths.get(0), Arrays.asList(args).contains("--materialized"), resultOptions(args), threads(args));
+        if (failures > 0) {
+            System.err.println(failures + " of " + queriesByName.size() + " queries failed");
+            System.exit(1);
+        }
     }
 
     private static void convertToTurtle(String format, String source, String prefixesPath, String target) throws IOException {
-        convertToTtl(format, source, prefixMap(prefixesPath), new FileWriter(target, false));
+        try (OutputStream out = new FileOutputStream(target, false)) {
+            convertToTtl(format, source, prefixMap(prefixesPath), out);
+        }
     }
 
     private static Map<String, String> prefixMap(String prefixesPath) throws IOException {
@@ -75,24 +128,41 @@ public class Main {
         return prefixMap;
     }
 
-    private static void generateTurtleFromRequest(String url, String requestPath, String target) throws IOException {
+    private static void generateTurtleFromRequest(String url, String requestPath, String target, String pageSize, int retries, int concurrency) throws IOException {
         String request = new String(Files.readAllBytes(Paths.get(requestPath)));
+        if (pageSize != null) {
+            TtlImporter.importPaged(url, request, target, Long.parseLong(pageSize), retries, concurrency);
+            return;
+        }
         Writer writer = new FileWriter(target, false);
         importFrom(url, request, writer);
     }
 
 
-    private static void generateTurtleFromCsv(String csvFilePath, String classFilePath, String target, String prefix, String prefixFullValue) throws IOException, ClassNotFoundException, NoSuchFieldException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+    private static void generateRdfFromCsv(String csvFilePath, String classFilePath, String target, String prefix, String prefixFullValue, char delimiter, int threads, Lang lang) throws IOException, ReflectiveOperationException {
         Class<?> clazz = loadClass(classFilePath);
         File file = new File(target);
-        Writer writer = new FileWriter(file);
-        writeRdfsModel(clazz, readFile(csvFilePath, clazz),prefix, prefixFullValue, NameExtractors.NAME_FIELD, writer);
-        writer.close();
+        if (threads > 1) {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+                ParallelCsvConverter.convert(csvFilePath, clazz, delimiter, prefix, prefixFullValue, NameExtractors.NAME_FIELD, lang, out, threads);
+            }
+            return;
+        }
+        if (!Lang.TURTLE.equals(lang)) {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file)); Stream<?> rows = streamFile(csvFilePath, clazz, delimiter)) {
+                RdfStreamWriter.writeRdfsModel(clazz, rows, prefix, prefixFullValue, NameExtractors.NAME_FIELD, StreamRDFWriter.getWriterStream(out, lang));
+            }
+            return;
+        }
+        try (Writer writer = new FileWriter(file); Stream<?> rows = streamFile(csvFilePath, clazz, delimiter)) {
+            writeRdfsModel(clazz, rows, prefix, prefixFullValue, NameExtractors.NAME_FIELD, writer);
+        }
     }
 
-    private static void integrateData(String[] args) throws IOException {
+    private static void integrateData(String[] arguments) throws IOException {
+        String[] args = Arrays.stream(arguments).filter(arg -> !arg.startsWith("--")).toArray(String[]::new);
         if (args.length < 9) {
-            System.err.println("Usage: integrate <output_file> <number_of_datasets(>=1)> <dataset1_name> <dataset1_file> ... <name_of_property_identifier> <name_of_unified_class> <name_of_class_to_unify1> <name_of_class_to_unify2> ...");
+            System.err.println("Usage: integrate <output_file> <number_of_datasets(>=1)> <dataset1_name> <dataset1_file> ... <name_of_property_identifier> <name_of_unified_class> <name_of_class_to_unify1> <name_of_class_to_unify2> ... [--threads=<n>] [--clusters]");
             return;
         }
 
@@ -112,6 +182,49 @@ public class Main {
 
         List<String> classesToUnify = new ArrayList<>(Arrays.asList(args).subList(5 + 2 * numberOfDatasets, args.length));
 
-        integrateDatasets(inputFiles, propertyIdentifier, classesToUnify, unifiedClassName, outputFile);
+        integrateDatasets(inputFiles, propertyIdentifier, classesToUnify, unifiedClassName, outputFile, threads(arguments), Arrays.asList(arguments).contains("--clusters"));
+    }
+
+    private static void addDatasetToIntegration(String[] arguments) throws IOException {
+        String[] args = Arrays.stream(arguments).filter(arg -> !arg.startsWith("--")).toArray(String[]::new);
+        if (args.length < 8) {
+            System.err.println("Usage: integrate-add <integrated_file> <output_file> <dataset_name> <dataset_file> <name_of_property_identifier> <name_of_unified_class> <name_of_class_to_unify1> ... [--threads=<n>]");
+            return;
+        }
+
+        List<String> classesToUnify = new ArrayList<>(Arrays.asList(args).subList(7, args.length));
+
+        DataIntegrator.addDataset(args[1], args[3], args[4], args[5], classesToUnify, args[6], args[2], threads(arguments));
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        String flag = "--" + name + "=";
+        return Arrays.stream(args)
+                .filter(arg -> arg.startsWith(flag))
+                .map(arg -> arg.substring(flag.length()))
+                .findFirst()
+                .orElse(defaultValue);
+    }
+
+    private static int threads(String[] args) {
+        int threads = Integer.parseInt(option(args, "threads", "1"));
+        if (threads < 1) {
+            throw new IllegalArgumentException("--threads must be at least 1: " + threads);
+        }
+        return threads;
+    }
+
+    private static QueryExecutor.ResultOptions resultOptions(String[] args) {
+        String limit = option(args, "limit", null);
+        String offset = option(args, "offset", null);
+        return new QueryExecutor.ResultOptions(
+                option(args, "format", "table"),
+                limit == null ? null : Long.valueOf(limit),
+                offset == null ? null : Long.valueOf(offset)
+        );
+    }
+
+    private static char delimiter(String value) {
+        return value.equals("\\t") ? '\t' : value.charAt(0);
     }
-}
\ No newline at end of file
+}
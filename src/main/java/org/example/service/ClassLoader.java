@@ -1,42 +1,167 @@
 package org.example.service;
 
-import javax.tools.JavaCompiler;
-import javax.tools.ToolProvider;
-import java.io.File;
+import javax.tools.*;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 public class ClassLoader {
+    private static final Path CACHE_DIRECTORY = Paths.get(System.getProperty("user.home"), ".cache", "rdfs-generator", "classes");
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+    private static final String CLASS_EXTENSION = ".class";
 
+    // Compiled classes are cached by a hash of the source and of the JDK version, so an unchanged
+    // mapping is loaded without running the compiler. Nothing is written next to the source.
+    // The cached bytecode is executed, so the cache is only used when no other user can write to it.
     public static Class<?> loadClass(String path) throws IOException, ClassNotFoundException {
-        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-        int result = compiler.run(null, null, null, path);
+        String content = Files.readString(Paths.get(path));
+        String className = classNameOf(content);
 
-        if (result != 0) {
-            throw new RuntimeException("Compilation failed");
+        Path entry = CACHE_DIRECTORY.resolve(cacheKey(content));
+        boolean cacheable = prepareCache();
+        Map<String, byte[]> classes;
+        if (cacheable && Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS) && isPrivate(entry)) {
+            classes = readCache(entry);
+        } else {
+            classes = compile(className, content);
+            if (cacheable) {
+                writeCache(entry, classes);
+            }
         }
 
-        File classFile = new File(path).getParentFile();
-        URLClassLoader classLoader = URLClassLoader.newInstance(
-                new URL[]{classFile.toURI().toURL()}
-        );
-
-        return Class.forName(extractClassName(path), true, classLoader);
-
+        return Class.forName(className, true, new InMemoryClassLoader(classes, ClassLoader.class.getClassLoader()));
     }
 
     public static String extractClassName(String filePath) throws IOException {
-        String content = new String(Files.readAllBytes(Paths.get(filePath)));
+        return classNameOf(new String(Files.readAllBytes(Paths.get(filePath))));
+    }
+
+    private static String classNameOf(String content) {
         String packageName = extractPackage(content);
         return (!packageName.isEmpty() ? (packageName + ".") : "") + extractSimpleClassName(content);
     }
 
+    private static String cacheKey(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(content.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(Runtime.version().toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The generated bytecode, nested classes included, is collected by binary name.
+    private static Map<String, byte[]> compile(String className, String content) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Map<String, ByteArrayOutputStream> outputs = new HashMap<>();
+        JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return content;
+            }
+        };
+
+        try (JavaFileManager fileManager = new ForwardingJavaFileManager<>(compiler.getStandardFileManager(null, null, null)) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location, String name, JavaFileObject.Kind kind, FileObject sibling) {
+                return new SimpleJavaFileObject(URI.create("mem:///" + name.replace('.', '/') + kind.extension), kind) {
+                    @Override
+                    public OutputStream openOutputStream() {
+                        return outputs.computeIfAbsent(name, key -> new ByteArrayOutputStream());
+                    }
+                };
+            }
+        }) {
+            if (!compiler.getTask(null, fileManager, null, null, null, List.of(source)).call()) {
+                throw new RuntimeException("Compilation failed");
+            }
+        }
+
+        Map<String, byte[]> classes = new HashMap<>();
+        outputs.forEach((name, bytes) -> classes.put(name, bytes.toByteArray()));
+        return classes;
+    }
+
+    private static boolean prepareCache() {
+        try {
+            if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+                Files.createDirectories(CACHE_DIRECTORY, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+            } else {
+                Files.createDirectories(CACHE_DIRECTORY);
+            }
+            if (isPrivate(CACHE_DIRECTORY)) {
+                return true;
+            }
+            System.err.println("Ignoring compiled class cache " + CACHE_DIRECTORY + ": it must be owned by the current user and not writable by others");
+        } catch (IOException e) {
+            System.err.println("Could not create compiled class cache " + CACHE_DIRECTORY + ": " + e.getMessage());
+        }
+        return false;
+    }
+
+    private static boolean isPrivate(Path directory) throws IOException {
+        UserPrincipal user = FileSystems.getDefault().getUserPrincipalLookupService().lookupPrincipalByName(System.getProperty("user.name"));
+        if (!Files.getOwner(directory, LinkOption.NOFOLLOW_LINKS).equals(user)) {
+            return false;
+        }
+        if (!FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            return true;
+        }
+        Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(directory, LinkOption.NOFOLLOW_LINKS);
+        return !permissions.contains(PosixFilePermission.GROUP_WRITE) && !permissions.contains(PosixFilePermission.OTHERS_WRITE);
+    }
+
+    private static Map<String, byte[]> readCache(Path entry) throws IOException {
+        Map<String, byte[]> classes = new HashMap<>();
+        try (Stream<Path> files = Files.list(entry)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String fileName = file.getFileName().toString();
+                classes.put(fileName.substring(0, fileName.length() - CLASS_EXTENSION.length()), Files.readAllBytes(file));
+            }
+        }
+        return classes;
+    }
+
+    // Written to a temporary directory and moved in place, so that a concurrent or interrupted
+    // run never leaves a partial entry. A failure only costs a compilation on the next run.
+    private static void writeCache(Path entry, Map<String, byte[]> classes) {
+        try {
+            Path temporary = Files.createTempDirectory(CACHE_DIRECTORY, entry.getFileName() + ".");
+            for (Map.Entry<String, byte[]> compiled : classes.entrySet()) {
+                Files.write(temporary.resolve(compiled.getKey() + CLASS_EXTENSION), compiled.getValue());
+            }
+            try {
+                Files.move(temporary, entry, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                for (String name : classes.keySet()) {
+                    Files.deleteIfExists(temporary.resolve(name + CLASS_EXTENSION));
+                }
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not cache compiled classes in " + entry + ": " + e.getMessage());
+        }
+    }
+
     private static String extractPackage(String content) {
         Pattern pattern = Pattern.compile("package\\s+([\\w.]+)\\s*;");
         Matcher matcher = pattern.matcher(content);
@@ -54,6 +179,22 @@ public class ClassLoader {
         }
         throw new IllegalArgumentException("No class found in file");
     }
-}
 
+    private static class InMemoryClassLoader extends java.lang.ClassLoader {
+        private final Map<String, byte[]> classes;
+
+        InMemoryClassLoader(Map<String, byte[]> classes, java.lang.ClassLoader parent) {
+            super(parent);
+            this.classes = classes;
+        }
 
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
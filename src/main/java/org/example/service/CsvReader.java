@@ -1,152 +1,86 @@
 package org.example.service;
 
-import org.example.model.csv.Column;
-import org.example.model.csv.Ignore;
-import org.example.model.csv.Remove;
 import org.example.model.rdfs.NameExtractors;
 
 import java.io.*;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static org.example.service.ClassLoader.loadClass;
 import static org.example.service.TtlWriter.writeRdfsModel;
-import static org.example.utils.ClassUtils.getItemType;
 
 public class CsvReader {
 
-    public static <T> List<T> readFile(String fileName, Class<T> type) throws IOException, NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException, NoSuchFieldException, ClassNotFoundException {
-        BufferedReader reader = new BufferedReader(new FileReader(fileName));
-
-        String[] fields = reader.readLine().toLowerCase().split(",");
-
-        List<T> result = new ArrayList<>();
-
-        while (true) {
-            String line = reader.readLine();
-            if (line == null)
-                break;
-            T instance = type.getDeclaredConstructor().newInstance();
-            String[] values = splitAndClean(line);
-            for (int i = 0; i < fields.length; ++i) {
-                if (isNotBlank(values[i])) {
-                    Field field = getField(type, fields[i]);
-                    setValue(field, values[i], instance);
-                }
-            }
-            result.add(instance);
+    public static <T> List<T> readFile(String fileName, Class<T> type) throws IOException {
+        try (Stream<T> rows = streamFile(fileName, type)) {
+            return rows.collect(Collectors.toList());
         }
-        return result;
     }
 
-    private static String[] splitAndClean(String line) {
-        return Arrays.stream(line.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)", -1))
-                .map(str -> str.trim().replaceAll("^\"|\"$", ""))
-                .toArray(String[]::new);
+    public static <T> Stream<T> streamFile(String fileName, Class<T> type) throws IOException {
+        return streamFile(fileName, type, ',');
     }
 
-    private static void setValue(Field field, String value, Object instance) throws IllegalAccessException, ClassNotFoundException {
-        boolean accessibility = field.canAccess(instance);
-        field.setAccessible(true);
-
-        Class<?> fieldType = field.getType();
-        Object valueToSet;
-
-        if (field.isAnnotationPresent(Ignore.class) && Arrays.asList(field.getAnnotation(Ignore.class).value().split(",")).contains(value))
-            return;
-
-        if (field.isAnnotationPresent(Remove.class))
-            value = value.replace(field.getAnnotation(Remove.class).regex(), "");
-
-        if (fieldType.equals(String.class)) {
-            valueToSet = value;
-        } else if (fieldType.equals(Long.class)) {
-            valueToSet = Long.parseLong(value);
-        } else if (fieldType.equals(Integer.class)) {
-            valueToSet = Integer.parseInt(value);
-        } else if (fieldType.equals(LocalDate.class)) {
-            valueToSet = LocalDate.parse(value);
-        } else if (fieldType.equals(Double.class)) {
-            valueToSet = Double.parseDouble(value);
-        } else if (fieldType.equals(Boolean.class)) {
-            valueToSet = Boolean.parseBoolean(value);
-        } else if (fieldType.equals(List.class)) {
-            valueToSet = deserializeList(value, field);
-        } else throw new IllegalStateException();
-
-        field.set(instance, valueToSet);
-
-        field.setAccessible(accessibility);
-    }
+    public static <T> Stream<T> streamFile(String fileName, Class<T> type, char delimiter) throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new FileReader(fileName), delimiter);
 
-    private static List<?> deserializeList(String value, Field field) {
-        String[] list = Arrays.stream(value.split(","))
-                .map(String::trim)
-                .toArray(String[]::new);
-        List<?> listValue;
-        Class<?> itemType = getItemType(field);
+        String[] fields = readHeader(tokenizer);
 
-        if (itemType.equals(String.class)) {
-            List<String> temp = new ArrayList<>();
-            for (String item : list) {
-                temp.add(item);
-            }
-            listValue = temp;
-        } else if (itemType.equals(Long.class)) {
-            List<Long> temp = new ArrayList<>();
-            for (String item : list) {
-                temp.add(Long.parseLong(item));
-            }
-            listValue = temp;
-        } else if (itemType.equals(Integer.class)) {
-            List<Integer> temp = new ArrayList<>();
-            for (String item : list) {
-                temp.add(Integer.parseInt(item));
-            }
-            listValue = temp;
-        } else if (itemType.equals(LocalDate.class)) {
-            List<LocalDate> temp = new ArrayList<>();
-            for (String item : list) {
-                temp.add(LocalDate.parse(item));
+        RowBinder<T> binder;
+        try {
+            binder = RowBinder.of(type, fields);
+        } catch (ReflectiveOperationException e) {
+            tokenizer.close();
+            throw new RuntimeException(e);
+        }
+
+        Iterator<String[]> records = new Iterator<>() {
+            private String[] next = readNext();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
             }
-            listValue = temp;
-        } else if (itemType.equals(Double.class)) {
-            List<Double> temp = new ArrayList<>();
-            for (String item : list) {
-                temp.add(Double.parseDouble(item));
+
+            @Override
+            public String[] next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                String[] current = next;
+                next = readNext();
+                return current;
             }
-            listValue = temp;
-        } else if (itemType.equals(Boolean.class)) {
-            List<Boolean> temp = new ArrayList<>();
-            for (String item : list) {
-                temp.add(Boolean.parseBoolean(item));
+
+            private String[] readNext() {
+                try {
+                    return tokenizer.next();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
             }
-            listValue = temp;
-        } else throw new IllegalArgumentException();
-        return listValue;
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(binder::bind)
+                .onClose(() -> {
+                    try {
+                        tokenizer.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
     }
 
-    private static Field getField(Class<?> type, String field) throws NoSuchFieldException {
-        Field result;
-        try {
-            result = type.getDeclaredField(field);
-        } catch (NoSuchFieldException e) {
-            result = Arrays.stream(type.getDeclaredFields())
-                    .filter(f -> f.isAnnotationPresent(Column.class) && f.getAnnotation(Column.class).name().equals(field))
-                    .findFirst()
-                    .orElseThrow(()-> {
-                        System.out.println(field);
-                        return e;
-                    });
-        }
-        return result;
+    static String[] readHeader(CsvTokenizer tokenizer) throws IOException {
+        return normalizeHeader(tokenizer.next());
     }
 
-    private static boolean isNotBlank(String value) {
-        return value != null && !value.isBlank();
+    static String[] normalizeHeader(String[] fields) {
+        return Arrays.stream(fields)
+                .map(String::toLowerCase)
+                .toArray(String[]::new);
     }
 }
@@ -0,0 +1,101 @@
+package org.example.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+// Cuts a CSV input into pieces of whole records without tokenizing it, so that the pieces can be
+// tokenized independently. Record ends are found with the quoting rules of CsvTokenizer: a quote
+// only opens a quoted field as the first non-blank character of the field.
+public class CsvSplitter implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final char QUOTE = '"';
+
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_IN_QUOTED = 3;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder pending = new StringBuilder();
+    private int scanned;
+    private int state = FIELD_START;
+
+    public CsvSplitter(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    // Returns the following records up to the first record end at or after minLength characters,
+    // or the rest of the input; null at the end of the input.
+    public String next(int minLength) throws IOException {
+        while (true) {
+            int end = scan(minLength);
+            if (end > 0) {
+                String records = pending.substring(0, end);
+                pending.delete(0, end);
+                scanned = 0;
+                return records;
+            }
+            int read = reader.read(buffer, 0, BUFFER_SIZE);
+            if (read < 0) {
+                if (pending.length() == 0) {
+                    return null;
+                }
+                String records = pending.toString();
+                pending.setLength(0);
+                scanned = 0;
+                state = FIELD_START;
+                return records;
+            }
+            pending.append(buffer, 0, read);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Position after the first record end at or after minLength, or 0 if the pending input has none yet.
+    private int scan(int minLength) {
+        while (scanned < pending.length()) {
+            char c = pending.charAt(scanned++);
+            boolean endOfLine = c == '\n' || c == '\r';
+            switch (state) {
+                case FIELD_START -> {
+                    if (c == QUOTE) {
+                        state = QUOTED;
+                    } else if (c != delimiter && !endOfLine && c > ' ') {
+                        state = UNQUOTED;
+                    }
+                }
+                case UNQUOTED -> {
+                    if (c == delimiter || endOfLine) {
+                        state = FIELD_START;
+                    }
+                }
+                case QUOTED -> {
+                    if (c == QUOTE) {
+                        state = QUOTE_IN_QUOTED;
+                    }
+                }
+                case QUOTE_IN_QUOTED -> {
+                    if (c == QUOTE) {
+                        state = QUOTED;
+                    } else if (c == delimiter || endOfLine) {
+                        state = FIELD_START;
+                    } else {
+                        state = UNQUOTED;
+                    }
+                }
+            }
+            if (endOfLine && state == FIELD_START && scanned >= minLength) {
+                return scanned;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+public class CsvTokenizer implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final char QUOTE = '"';
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    private final StringBuilder field = new StringBuilder();
+    private String[] fields = new String[16];
+    private int count;
+
+    public CsvTokenizer(Reader reader) {
+        this(reader, ',');
+    }
+
+    public CsvTokenizer(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    // Returns the fields of the next record, or null at the end of the input. Blank lines are skipped.
+    public String[] next() throws IOException {
+        do {
+            if (!readRecord()) {
+                return null;
+            }
+        } while (count == 1 && fields[0].isEmpty());
+        return Arrays.copyOf(fields, count);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean readRecord() throws IOException {
+        count = 0;
+        int c = read();
+        if (c == -1) {
+            return false;
+        }
+        while (true) {
+            field.setLength(0);
+            while (c != -1 && c <= ' ' && c != delimiter && !isEndOfLine(c)) {
+                c = read();
+            }
+
+            int keep = 0;
+            if (c == QUOTE) {
+                while ((c = read()) != -1) {
+                    if (c == QUOTE) {
+                        c = read();
+                        if (c != QUOTE) {
+                            break;
+                        }
+                    }
+                    field.append((char) c);
+                }
+                keep = field.length();
+            }
+            while (c != -1 && c != delimiter && !isEndOfLine(c)) {
+                field.append((char) c);
+                c = read();
+            }
+            addField(keep);
+
+            if (c == delimiter) {
+                c = read();
+            } else {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                return true;
+            }
+        }
+    }
+
+    // Unquoted content is trimmed like String.trim(); quoted content is kept as is.
+    private void addField(int keep) {
+        int end = field.length();
+        while (end > keep && field.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (count == fields.length) {
+            fields = Arrays.copyOf(fields, count * 2);
+        }
+        fields[count++] = field.substring(0, end);
+    }
+
+    private static boolean isEndOfLine(int c) {
+        return c == '\n' || c == '\r';
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, BUFFER_SIZE);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
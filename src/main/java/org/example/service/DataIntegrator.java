@@ -1,51 +1,119 @@
 package org.example.service;
 
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
 import org.apache.jena.rdf.model.*;
 import org.apache.jena.vocabulary.OWL;
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
+import org.example.utils.UnionFind;
 
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Serial;
 import java.io.Writer;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.example.utils.EditDistance.boundedDistance;
+import static org.example.utils.EditDistance.maxDistance;
+import static org.example.utils.RdfUtils.readModel;
 
 public class DataIntegrator {
     private static final String OWL_NS = "http://www.w3.org/2002/07/owl#";
     private static final String UNIFIED_NS = "http://example.org/unified/";
+    private static final double SIMILARITY_THRESHOLD = 0.85;
+    private static final int MATCH_BATCH_SIZE = 256;
 
     public static void integrateDatasets(Map<String, String> inputFiles, String propertyIdentifier, List<String> classNames, String unifiedClassName, String outputFile)
             throws IOException {
+        integrateDatasets(inputFiles, propertyIdentifier, classNames, unifiedClassName, outputFile, 1, false);
+    }
+
+    public static void integrateDatasets(Map<String, String> inputFiles, String propertyIdentifier, List<String> classNames, String unifiedClassName, String outputFile, int threads, boolean clusters)
+            throws IOException {
 
+        IntegrationMetrics metrics = new IntegrationMetrics();
         Model combinedModel = ModelFactory.createDefaultModel();
 
-        Map<String, Model> datasetModels = new HashMap<>();
-        for (Map.Entry<String, String> entry : inputFiles.entrySet()) {
-            Model model = ModelFactory.createDefaultModel();
-            model.read(entry.getValue(), "TURTLE");
-            datasetModels.put(entry.getKey(), model);
-            combinedModel.add(model);
-        }
+        Map<String, SourceView> sources = ParallelSourceLoader.load(combinedModel, inputFiles, classNames);
+        metrics.end("load", combinedModel.size(), "triples");
 
         combinedModel.setNsPrefix("owl", OWL_NS);
         combinedModel.setNsPrefix("unified", UNIFIED_NS);
 
-        addSameAsRelationships(combinedModel, datasetModels, propertyIdentifier, classNames);
+        LongAdder comparisons = new LongAdder();
+        MatchIndex matchIndex = addSameAsRelationships(combinedModel, sources, propertyIdentifier, unifiedClassName, threads, clusters, comparisons);
+        metrics.end("match", comparisons.sum(), "comparisons");
 
+        long sizeBeforeUnification = combinedModel.size();
         unifyOntology(combinedModel, unifiedClassName, classNames);
+        metrics.end("unify", combinedModel.size() - sizeBeforeUnification, "triples");
 
         try (Writer writer = new FileWriter(outputFile)) {
             combinedModel.write(writer, "TURTLE");
         }
+        matchIndex.write(MatchIndex.pathFor(outputFile));
+        metrics.end("write", combinedModel.size(), "triples");
 
         System.out.println("Integration complete. Output written to: " + outputFile);
-        printIntegrationStats(combinedModel, datasetModels);
+        printIntegrationStats(combinedModel, sources);
+        metrics.print(System.out);
+    }
+
+    // Adds one dataset to a previous integration output: only the new dataset is matched, against
+    // the identifiers persisted in the match index; existing links and unified properties are kept.
+    // An output integrated with clusters stays clustered: the new links join the existing classes.
+    public static void addDataset(String integratedFile, String datasetName, String datasetFile, String propertyIdentifier, List<String> classNames, String unifiedClassName, String outputFile, int threads)
+            throws IOException {
+
+        IntegrationMetrics metrics = new IntegrationMetrics();
+        Model combinedModel = ModelFactory.createDefaultModel();
+        readModel(combinedModel, integratedFile);
+        MatchIndex matchIndex = MatchIndex.read(MatchIndex.pathFor(integratedFile), combinedModel);
+        if (matchIndex.datasets().contains(datasetName)) {
+            throw new IllegalArgumentException("Dataset already integrated: " + datasetName);
+        }
+
+        SourceView source = SourceView.load(combinedModel, datasetFile, classNames);
+        metrics.end("load", combinedModel.size(), "triples");
+
+        List<String[]> datasetPairs = new ArrayList<>();
+        for (String existingDataset : matchIndex.datasets()) {
+            datasetPairs.add(new String[]{existingDataset, datasetName});
+        }
+        List<Resource> resources = source.resources();
+        matchIndex.add(datasetName, resources, extractIdentifiers(resources, combinedModel, propertyIdentifier));
+
+        LongAdder comparisons = new LongAdder();
+        List<Statement> sameAsLinks = findSameAsLinks(matchIndex, datasetPairs, threads, comparisons);
+        if (matchIndex.clusters()) {
+            addClusteredLinks(combinedModel, matchIndex, sameAsLinks, unifiedClassName);
+        } else {
+            combinedModel.add(sameAsLinks);
+        }
+        metrics.end("match", comparisons.sum(), "comparisons");
+
+        long sizeBeforeUnification = combinedModel.size();
+        unifyOntology(combinedModel, unifiedClassName, classNames);
+        metrics.end("unify", combinedModel.size() - sizeBeforeUnification, "triples");
+
+        try (Writer writer = new FileWriter(outputFile)) {
+            combinedModel.write(writer, "TURTLE");
+        }
+        matchIndex.write(MatchIndex.pathFor(outputFile));
+        metrics.end("write", combinedModel.size(), "triples");
+
+        System.out.println("Integration complete. Output written to: " + outputFile);
+        printIntegrationStats(combinedModel, Map.of(datasetName, source));
+        metrics.print(System.out);
     }
 
     private static void unifyOntology(Model model, String unifiedClassName, List<String> classNames) {
-        Map<String, Set<String>> propertiesByClass = calculatePropertiesByClass(model, classNames);
-        Map<String, List<String>> propertiesToUnifyByName = extractPropertiesToUnify(propertiesByClass);
+        Map<String, Map<String, Set<String>>> propertiesByNameAndClass = indexPropertiesByName(model, classNames);
+        Map<String, List<String>> propertiesToUnifyByName = extractPropertiesToUnify(propertiesByNameAndClass);
 
         for (Map.Entry<String, List<String>> entry : propertiesToUnifyByName.entrySet()) {
             addUnifiedProperty(model, entry.getKey(), unifiedClassName);
@@ -64,167 +132,297 @@ public class DataIntegrator {
         }
     }
 
+    // Looks up the class declarations directly instead of scanning every rdf:type statement.
     private static Set<String> getClassUris(Model model, List<String> classNames) {
-        return model.listStatements(null, RDF.type, (RDFNode) null)
-                .toList()
-                .stream()
-                .map(statement -> statement.getObject().asResource().getURI())
-                .filter(uri-> classNames.stream().anyMatch(uri::contains))
-                .collect(Collectors.toSet());
+        Set<String> classUris = new HashSet<>();
+        ResIterator classes = model.listSubjectsWithProperty(RDF.type, RDFS.Class);
+        while (classes.hasNext()) {
+            String uri = classes.next().getURI();
+            if (uri != null && classNames.stream().anyMatch(uri::contains)) {
+                classUris.add(uri);
+            }
+        }
+        return classUris;
     }
 
-    private static Map<String, List<String>> extractPropertiesToUnify(Map<String, Set<String>> propertiesByClass) {
+    // A property name is unified when properties of at least two classes share it; all of them are mapped.
+    private static Map<String, List<String>> extractPropertiesToUnify(Map<String, Map<String, Set<String>>> propertiesByNameAndClass) {
         Map<String, List<String>> propertiesToUnify = new HashMap<>();
 
-        for (int i = 0; i < propertiesByClass.size(); i++) {
-            for (int j = i+1; j < propertiesByClass.size(); j++) {
-                Set<String> properties1 = (Set<String>) propertiesByClass.values().toArray((size)-> new Set<?>[size])[i];
-                Set<String> properties2 = (Set<String>) propertiesByClass.values().toArray((size)-> new Set<?>[size])[j];
-                for (String property1 : properties1) {
-                    for (String property2 : properties2) {
-                        String propertyName1 = property1.substring(property1.lastIndexOf('/') + 1);
-                        String propertyName2 = property2.substring(property2.lastIndexOf('/') + 1);
-                        if(propertyName1.equals(propertyName2)) {
-                            if(!propertiesToUnify.containsKey(propertyName1)) {
-                                propertiesToUnify.put(propertyName1, new ArrayList<>());
-                            }
-                            if(!propertiesToUnify.get(propertyName1).contains(property2)) {
-                                propertiesToUnify.get(propertyName1).add(property2);
-                            }
-                            if(!propertiesToUnify.get(propertyName1).contains(property1)) {
-                                propertiesToUnify.get(propertyName1).add(property1);
-                            }
-                        }
-                    }
-                }
+        for (Map.Entry<String, Map<String, Set<String>>> entry : propertiesByNameAndClass.entrySet()) {
+            if (entry.getValue().size() > 1) {
+                Set<String> properties = new LinkedHashSet<>();
+                entry.getValue().values().forEach(properties::addAll);
+                propertiesToUnify.put(entry.getKey(), new ArrayList<>(properties));
             }
         }
 
         return propertiesToUnify;
     }
 
-    private static Map<String, Set<String>> calculatePropertiesByClass(Model model, List<String> classNames) {
-        List<Statement> statements = model.listStatements(null, RDFS.domain, (RDFNode) null).toList();
+    // Properties whose domain is one of the classes to unify, indexed by local name and then by class.
+    private static Map<String, Map<String, Set<String>>> indexPropertiesByName(Model model, List<String> classNames) {
+        Set<String> classesToUnify = new HashSet<>(classNames);
+        Map<String, Map<String, Set<String>>> propertiesByNameAndClass = new HashMap<>();
 
-        Map<String, Set<String>> propertiesByClassToUnify = classNames.stream()
-                .collect(Collectors.toMap(
-                        className -> className,
-                        className -> new HashSet<>()
-                ));
-
-        for (Statement statement : statements) {
+        StmtIterator statements = model.listStatements(null, RDFS.domain, (RDFNode) null);
+        while (statements.hasNext()) {
+            Statement statement = statements.next();
             String domain = statement.getObject().asResource().getLocalName();
-            if (propertiesByClassToUnify.containsKey(domain)) {
-                String propertyName = statement.getSubject().getURI();
-                if(!propertiesByClassToUnify.containsKey(domain)) {
-                    propertiesByClassToUnify.put(domain, new HashSet<>());
-                }
-                propertiesByClassToUnify.get(domain).add(propertyName);
+            if (classesToUnify.contains(domain)) {
+                String property = statement.getSubject().getURI();
+                String propertyName = property.substring(property.lastIndexOf('/') + 1);
+                propertiesByNameAndClass.computeIfAbsent(propertyName, name -> new HashMap<>())
+                        .computeIfAbsent(domain, className -> new LinkedHashSet<>())
+                        .add(property);
             }
         }
 
-        return propertiesByClassToUnify;
+        return propertiesByNameAndClass;
     }
 
-    private static void addSameAsRelationships(Model combinedModel, Map<String, Model> datasetModels, String propertyIdentifier, List<String> classNames) {
-        Map<String, List<Resource>> resourcesByDataset = new HashMap<>();
+    private static MatchIndex addSameAsRelationships(Model combinedModel, Map<String, SourceView> sources, String propertyIdentifier, String unifiedClassName, int threads, boolean clusters, LongAdder comparisons) {
+        MatchIndex matchIndex = new MatchIndex(clusters);
+        for (Map.Entry<String, SourceView> entry : sources.entrySet()) {
+            List<Resource> resources = entry.getValue().resources();
+            matchIndex.add(entry.getKey(), resources, extractIdentifiers(resources, combinedModel, propertyIdentifier));
+        }
+
+        List<String> datasetNames = new ArrayList<>(matchIndex.datasets());
+        List<String[]> datasetPairs = new ArrayList<>();
+        for (int i = 0; i < datasetNames.size(); i++) {
+            for (int j = i + 1; j < datasetNames.size(); j++) {
+                datasetPairs.add(new String[]{datasetNames.get(i), datasetNames.get(j)});
+            }
+        }
+
+        List<Statement> sameAsLinks = findSameAsLinks(matchIndex, datasetPairs, threads, comparisons);
+        if (clusters) {
+            addClusteredLinks(combinedModel, matchIndex, sameAsLinks, unifiedClassName);
+        } else {
+            combinedModel.add(sameAsLinks);
+        }
+        return matchIndex;
+    }
+
+    // Groups the matched resources into equivalence classes and links every member to one
+    // canonical unified resource per class, instead of one owl:sameAs per matched pair. The
+    // canonical resources are typed with the unified class so that they can be listed.
+    // Classes already in the model keep their canonical resource: new members are linked to it,
+    // classes joined by a new link are merged into the lowest numbered one, and new classes are
+    // numbered after the existing ones.
+    private static void addClusteredLinks(Model model, MatchIndex matchIndex, List<Statement> sameAsLinks, String unifiedClassName) {
+        List<Resource> resources = new ArrayList<>();
+        Map<Resource, Integer> positions = new HashMap<>();
+        for (String datasetName : matchIndex.datasets()) {
+            for (Resource resource : matchIndex.resources(datasetName)) {
+                if (positions.putIfAbsent(resource, resources.size()) == null) {
+                    resources.add(resource);
+                }
+            }
+        }
+
+        String canonicalPrefix = UNIFIED_NS + unifiedClassName + "-";
+        UnionFind clusters = new UnionFind(resources.size());
+        int[] clusterNumbers = new int[resources.size()];
+        Map<Integer, Integer> firstMembers = new HashMap<>();
+        int lastClusterNumber = 0;
+        for (int i = 0; i < resources.size(); i++) {
+            StmtIterator links = model.listStatements(resources.get(i), OWL.sameAs, (RDFNode) null);
+            while (links.hasNext()) {
+                RDFNode object = links.next().getObject();
+                if (object.isURIResource() && object.asResource().getURI().startsWith(canonicalPrefix)) {
+                    int clusterNumber = Integer.parseInt(object.asResource().getURI().substring(canonicalPrefix.length()));
+                    clusterNumbers[i] = clusterNumber;
+                    Integer firstMember = firstMembers.putIfAbsent(clusterNumber, i);
+                    if (firstMember != null) {
+                        clusters.union(i, firstMember);
+                    }
+                    lastClusterNumber = Math.max(lastClusterNumber, clusterNumber);
+                }
+            }
+        }
+        for (Statement link : sameAsLinks) {
+            clusters.union(positions.get(link.getSubject()), positions.get(link.getResource()));
+        }
 
-        for (Map.Entry<String, Model> entry : datasetModels.entrySet()) {
-            String datasetName = entry.getKey();
-            Model model = entry.getValue();
+        Map<Integer, List<Integer>> membersByRoot = new LinkedHashMap<>();
+        for (int i = 0; i < resources.size(); i++) {
+            membersByRoot.computeIfAbsent(clusters.find(i), root -> new ArrayList<>()).add(i);
+        }
 
-            List<Resource> resources = new ArrayList<>(model.listStatements(null, RDF.type, (RDFNode) null)
-                    .toList()
-                    .stream()
-                    .filter(statement -> classNames.contains(statement.getObject().asResource().getLocalName()))
-                    .map(Statement::getSubject)
-                    .toList());
+        Resource unifiedClass = model.createResource(UNIFIED_NS + unifiedClassName);
+        for (List<Integer> members : membersByRoot.values()) {
+            if (members.size() < 2) {
+                continue;
+            }
+            TreeSet<Integer> existingNumbers = new TreeSet<>();
+            for (int member : members) {
+                if (clusterNumbers[member] > 0) {
+                    existingNumbers.add(clusterNumbers[member]);
+                }
+            }
 
-            resourcesByDataset.put(datasetName, resources);
+            int clusterNumber = existingNumbers.isEmpty() ? ++lastClusterNumber : existingNumbers.first();
+            Resource canonical = model.createResource(canonicalPrefix + clusterNumber);
+            if (existingNumbers.isEmpty()) {
+                canonical.addProperty(RDF.type, unifiedClass);
+            }
+            for (int mergedNumber : existingNumbers.tailSet(clusterNumber, false)) {
+                Resource merged = model.createResource(canonicalPrefix + mergedNumber);
+                model.removeAll(null, OWL.sameAs, merged);
+                model.removeAll(merged, RDF.type, unifiedClass);
+            }
+            for (int member : members) {
+                if (clusterNumbers[member] != clusterNumber) {
+                    model.add(resources.get(member), OWL.sameAs, canonical);
+                }
+            }
         }
+    }
 
-        List<String> datasetNames = new ArrayList<>(resourcesByDataset.keySet());
+    private static List<Statement> findSameAsLinks(MatchIndex matchIndex, List<String[]> datasetPairs, int threads, LongAdder comparisons) {
+        Map<String, Integer> gramFrequencies = IdentifierIndex.countGrams(matchIndex.allIdentifiers());
+        Map<String, IdentifierIndex> indexesByDataset = new HashMap<>();
+
+        List<MatchTask> tasks = new ArrayList<>();
+        for (String[] datasetPair : datasetPairs) {
+            IdentifierIndex index2 = indexesByDataset.computeIfAbsent(datasetPair[1],
+                    datasetName -> new IdentifierIndex(matchIndex.identifiers(datasetName), gramFrequencies, SIMILARITY_THRESHOLD));
+            tasks.add(new MatchTask(
+                    matchIndex.resources(datasetPair[0]),
+                    matchIndex.identifiers(datasetPair[0]),
+                    matchIndex.resources(datasetPair[1]),
+                    matchIndex.identifiers(datasetPair[1]),
+                    index2,
+                    0, matchIndex.resources(datasetPair[0]).size(),
+                    comparisons));
+        }
 
-        for (int i = 0; i < datasetNames.size(); i++) {
-            for (int j = i + 1; j < datasetNames.size(); j++) {
-                List<Resource> resources1 = resourcesByDataset.get(datasetNames.get(i));
-                List<Resource> resources2 = resourcesByDataset.get(datasetNames.get(j));
+        // Each task buffers its own links; the buffers are concatenated in task order and
+        // returned for a single batch insert, so the model is only touched by the caller.
+        List<Statement> sameAsLinks = new ArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (MatchTask task : tasks) {
+                pool.execute(task);
+            }
+            for (MatchTask task : tasks) {
+                sameAsLinks.addAll(task.join());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return sameAsLinks;
+    }
 
-                for (Resource resource1 : resources1) {
-                    for (Resource resource2 : resources2) {
-                        if (areResourcesSimilar(resource1, resource2, combinedModel, propertyIdentifier)) {
-                            combinedModel.add(resource1, OWL.sameAs, resource2);
-                        }
+    // Matches the resources [from, to) of the first dataset against the candidates of the second.
+    private static class MatchTask extends RecursiveTask<List<Statement>> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Resource> resources1;
+        private final transient List<String> identifiers1;
+        private final transient List<Resource> resources2;
+        private final transient List<String> identifiers2;
+        private final transient IdentifierIndex index2;
+        private final int from;
+        private final int to;
+        private final transient LongAdder comparisons;
+
+        MatchTask(List<Resource> resources1, List<String> identifiers1, List<Resource> resources2, List<String> identifiers2, IdentifierIndex index2, int from, int to, LongAdder comparisons) {
+            this.resources1 = resources1;
+            this.identifiers1 = identifiers1;
+            this.resources2 = resources2;
+            this.identifiers2 = identifiers2;
+            this.index2 = index2;
+            this.from = from;
+            this.to = to;
+            this.comparisons = comparisons;
+        }
+
+        @Override
+        protected List<Statement> compute() {
+            if (to - from > MATCH_BATCH_SIZE) {
+                int middle = (from + to) >>> 1;
+                MatchTask right = new MatchTask(resources1, identifiers1, resources2, identifiers2, index2, middle, to, comparisons);
+                right.fork();
+                List<Statement> links = new MatchTask(resources1, identifiers1, resources2, identifiers2, index2, from, middle, comparisons).compute();
+                links.addAll(right.join());
+                return links;
+            }
+
+            List<Statement> links = new ArrayList<>();
+            long compared = 0;
+            for (int k = from; k < to; k++) {
+                for (int l : index2.candidates(identifiers1.get(k))) {
+                    compared++;
+                    if (areIdentifiersSimilar(identifiers1.get(k), identifiers2.get(l))) {
+                        links.add(ResourceFactory.createStatement(resources1.get(k), OWL.sameAs, resources2.get(l)));
                     }
                 }
             }
+            comparisons.add(compared);
+            return links;
         }
     }
 
-    private static boolean areResourcesSimilar(Resource resource1, Resource resource2, Model model, String propertyIdentifier) {
-        String identifier1 = extractIdentifier(resource1, model, propertyIdentifier);
-        String identifier2 = extractIdentifier(resource2, model, propertyIdentifier);
-
+    private static boolean areIdentifiersSimilar(String identifier1, String identifier2) {
         if (identifier1 == null || identifier2 == null) {
             return false;
         }
 
-        identifier1 = normalizeIdentifier(identifier1);
-        identifier2 = normalizeIdentifier(identifier2);
-
         if (identifier1.equals(identifier2)) {
             return true;
         }
 
-        double similarity = calculateSimilarity(identifier1, identifier2);
-        return similarity > 0.85;
+        int maxDistance = maxDistance(Math.max(identifier1.length(), identifier2.length()), SIMILARITY_THRESHOLD);
+        return boundedDistance(identifier1, identifier2, maxDistance) <= maxDistance;
     }
 
-    private static String extractIdentifier(Resource film, Model model, String propertyIdentifier) {
-        return model.listStatements(film, null, (RDFNode) null)
-                .toList()
-                .stream()
-                .filter(statement -> propertyIdentifier.equals(statement.asTriple().getPredicate().getLocalName()))
-                .findFirst()
-                .map(statement -> (String) statement.asTriple().getObject().getLiteral().getValue())
-                .orElse(null);
+    // Normalized identifiers of the resources, index by index. Each resource is looked up through the
+    // subject index, so the cost depends on the resources of the dataset and not on the size of the model.
+    private static List<String> extractIdentifiers(List<Resource> resources, Model model, String propertyIdentifier) {
+        Map<Resource, String> identifierByResource = new HashMap<>();
+        Map<Property, Boolean> identifierProperties = new HashMap<>();
+        String[] identifiers = new String[resources.size()];
+        for (int i = 0; i < identifiers.length; i++) {
+            identifiers[i] = identifierByResource.computeIfAbsent(resources.get(i), resource -> {
+                StmtIterator statements = model.listStatements(resource, null, (RDFNode) null);
+                try {
+                    while (statements.hasNext()) {
+                        Statement statement = statements.next();
+                        if (statement.getObject().isLiteral() && identifierProperties.computeIfAbsent(statement.getPredicate(), property -> propertyIdentifier.equals(property.getLocalName()))) {
+                            return normalizeIdentifier(statement.getLiteral().getLexicalForm());
+                        }
+                    }
+                    return null;
+                } finally {
+                    statements.close();
+                }
+            });
+        }
+        return Arrays.asList(identifiers);
     }
 
+    // Same result as lowercasing, dropping [^a-z0-9\s], collapsing whitespace runs and trimming, in a single pass.
     private static String normalizeIdentifier(String title) {
-        return title.toLowerCase()
-                .replaceAll("[^a-z0-9\\s]", "")
-                .replaceAll("\\s+", " ")
-                .trim();
-    }
-
-    private static double calculateSimilarity(String s1, String s2) {
-        int distance = calculateDistance(s1, s2);
-        int maxLength = Math.max(s1.length(), s2.length());
-        return 1.0 - ((double) distance / maxLength);
-    }
-
-    private static int calculateDistance(String s1, String s2) {
-        int[][] dp = new int[s1.length() + 1][s2.length() + 1];
-
-        for (int i = 0; i <= s1.length(); i++) {
-            dp[i][0] = i;
-        }
-        for (int j = 0; j <= s2.length(); j++) {
-            dp[0][j] = j;
-        }
-
-        for (int i = 1; i <= s1.length(); i++) {
-            for (int j = 1; j <= s2.length(); j++) {
-                int cost = (s1.charAt(i - 1) == s2.charAt(j - 1)) ? 0 : 1;
-                dp[i][j] = Math.min(Math.min(
-                                dp[i - 1][j] + 1,
-                                dp[i][j - 1] + 1),
-                        dp[i - 1][j - 1] + cost
-                );
+        String lowerCase = title.toLowerCase();
+        StringBuilder normalized = new StringBuilder(lowerCase.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < lowerCase.length(); i++) {
+            char c = lowerCase.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(c);
+            } else if (c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r') {
+                pendingSpace = true;
             }
         }
-
-        return dp[s1.length()][s2.length()];
+        return normalized.toString();
     }
 
     private static void addUnifiedProperty(Model model, String propName, String unifiedClassName) {
@@ -243,22 +441,23 @@ public class DataIntegrator {
         }
     }
 
-    private static void printIntegrationStats(Model combinedModel, Map<String, Model> datasetModels) {
+    private static void printIntegrationStats(Model combinedModel, Map<String, SourceView> sources) {
         System.out.println("\n=== Integration Statistics ===");
 
-        for (Map.Entry<String, Model> entry : datasetModels.entrySet()) {
+        for (Map.Entry<String, SourceView> entry : sources.entrySet()) {
             System.out.println(entry.getKey() + " dataset: " + entry.getValue().size() + " triples");
         }
 
         System.out.println("Combined model: " + combinedModel.size() + " triples");
 
-        long sameAsCount = combinedModel.listStatements(null, OWL.sameAs, (RDFNode) null).toList().size();
+        Graph graph = combinedModel.getGraph();
+        long sameAsCount = graph.stream(Node.ANY, OWL.sameAs.asNode(), Node.ANY).count();
         System.out.println("owl:sameAs relationships: " + sameAsCount);
 
-        long classCount = combinedModel.listStatements(null, RDF.type, RDFS.Class).toList().size();
+        long classCount = graph.stream(Node.ANY, RDF.Nodes.type, RDFS.Class.asNode()).count();
         System.out.println("Total classes: " + classCount);
 
-        long propCount = combinedModel.listStatements(null, RDF.type, RDF.Property).toList().size();
+        long propCount = graph.stream(Node.ANY, RDF.Nodes.type, RDF.Property.asNode()).count();
         System.out.println("Total properties: " + propCount);
     }
 
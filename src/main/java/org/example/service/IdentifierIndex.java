@@ -0,0 +1,105 @@
+package org.example.service;
+
+import org.example.utils.EditDistance;
+
+import java.util.*;
+
+public class IdentifierIndex {
+    private static final int GRAM_SIZE = 2;
+
+    private final List<String> identifiers;
+    private final Map<String, Integer> gramFrequencies;
+    private final double threshold;
+    private final Map<String, List<Integer>> positionsByIdentifier = new HashMap<>();
+    private final Map<String, List<Integer>> positionsByPrefixGram = new HashMap<>();
+
+    public IdentifierIndex(List<String> identifiers, Map<String, Integer> gramFrequencies, double threshold) {
+        this.identifiers = identifiers;
+        this.gramFrequencies = gramFrequencies;
+        this.threshold = threshold;
+
+        for (int i = 0; i < identifiers.size(); i++) {
+            String identifier = identifiers.get(i);
+            if (identifier == null) {
+                continue;
+            }
+            positionsByIdentifier.computeIfAbsent(identifier, key -> new ArrayList<>()).add(i);
+            for (String gram : prefixGrams(identifier)) {
+                positionsByPrefixGram.computeIfAbsent(gram, key -> new ArrayList<>()).add(i);
+            }
+        }
+    }
+
+    public static Map<String, Integer> countGrams(Collection<List<String>> identifierLists) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (List<String> identifiers : identifierLists) {
+            for (String identifier : identifiers) {
+                if (identifier != null) {
+                    for (String gram : grams(identifier)) {
+                        frequencies.merge(gram, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        return frequencies;
+    }
+
+    public Set<Integer> candidates(String identifier) {
+        Set<Integer> candidates = new LinkedHashSet<>();
+        if (identifier == null) {
+            return candidates;
+        }
+        candidates.addAll(positionsByIdentifier.getOrDefault(identifier, Collections.emptyList()));
+        for (String gram : prefixGrams(identifier)) {
+            for (int position : positionsByPrefixGram.getOrDefault(gram, Collections.emptyList())) {
+                String other = identifiers.get(position);
+                int maxLength = Math.max(identifier.length(), other.length());
+                if (Math.abs(identifier.length() - other.length()) <= maxDistance(maxLength)) {
+                    candidates.add(position);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    // Grams are tagged with their occurrence number so that multiset overlap becomes plain set overlap.
+    private static List<String> grams(String identifier) {
+        List<String> grams = new ArrayList<>();
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (int i = 0; i + GRAM_SIZE <= identifier.length(); i++) {
+            String gram = identifier.substring(i, i + GRAM_SIZE);
+            grams.add(gram + "#" + occurrences.merge(gram, 1, Integer::sum));
+        }
+        return grams;
+    }
+
+    // Prefix filtering: two identifiers within the allowed edit distance share at least
+    // minOverlap grams (q-gram lemma), so they share one of the first |grams| - minOverlap + 1
+    // grams once every gram list is sorted by the same global order (rarest first).
+    private List<String> prefixGrams(String identifier) {
+        int minOverlap = minOverlap(identifier.length());
+        if (minOverlap == Integer.MAX_VALUE) {
+            return Collections.emptyList();
+        }
+        List<String> grams = grams(identifier);
+        grams.sort(Comparator.<String>comparingInt(gram -> gramFrequencies.getOrDefault(gram, 0))
+                .thenComparing(Comparator.naturalOrder()));
+        return grams.subList(0, Math.max(0, grams.size() - minOverlap + 1));
+    }
+
+    // Smallest number of shared grams over every partner length that could still match a non-identical identifier.
+    private int minOverlap(int length) {
+        int minOverlap = Integer.MAX_VALUE;
+        for (int maxLength = Math.max(length, 1); maxLength - maxDistance(maxLength) <= length; maxLength++) {
+            int maxDistance = maxDistance(maxLength);
+            if (maxDistance > 0) {
+                minOverlap = Math.min(minOverlap, maxLength - GRAM_SIZE + 1 - maxDistance * GRAM_SIZE);
+            }
+        }
+        return minOverlap;
+    }
+
+    private int maxDistance(int maxLength) {
+        return EditDistance.maxDistance(maxLength, threshold);
+    }
+}
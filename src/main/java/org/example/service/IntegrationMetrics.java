@@ -0,0 +1,34 @@
+package org.example.service;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Wall-clock time and processed volume of each integration phase, measured back to back.
+public class IntegrationMetrics {
+    private final List<Phase> phases = new ArrayList<>();
+    private long phaseStart = System.nanoTime();
+
+    private record Phase(String name, long nanos, long count, String unit) {
+    }
+
+    public void end(String name, long count, String unit) {
+        long now = System.nanoTime();
+        phases.add(new Phase(name, now - phaseStart, count, unit));
+        phaseStart = now;
+    }
+
+    public void print(PrintStream out) {
+        out.println("\n=== Phase Timings ===");
+        long totalNanos = 0;
+        for (Phase phase : phases) {
+            double seconds = phase.nanos() / 1e9;
+            out.printf(Locale.ROOT, "%s: %d ms, %d %s (%.0f %s/s)%n",
+                    phase.name(), phase.nanos() / 1_000_000, phase.count(), phase.unit(),
+                    seconds > 0 ? phase.count() / seconds : 0.0, phase.unit());
+            totalNanos += phase.nanos();
+        }
+        out.printf(Locale.ROOT, "total: %d ms%n", totalNanos / 1_000_000);
+    }
+}
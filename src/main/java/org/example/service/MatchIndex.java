@@ -0,0 +1,103 @@
+package org.example.service;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Resource;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+// Matched resources of each integrated dataset with their normalized identifiers, persisted
+// next to the integrated output as "dataset \t resource URI \t identifier" lines, after a
+// "#mode \t clusters|pairs" line recording how the owl:sameAs links were written.
+public class MatchIndex {
+    private static final String EXTENSION = ".index";
+    private static final String MODE = "#mode";
+    private static final String CLUSTERS = "clusters";
+    private static final String PAIRS = "pairs";
+
+    private final boolean clusters;
+    private final Map<String, List<Resource>> resourcesByDataset = new LinkedHashMap<>();
+    private final Map<String, List<String>> identifiersByDataset = new LinkedHashMap<>();
+
+    public MatchIndex(boolean clusters) {
+        this.clusters = clusters;
+    }
+
+    public boolean clusters() {
+        return clusters;
+    }
+
+    public void add(String datasetName, List<Resource> resources, List<String> identifiers) {
+        resourcesByDataset.put(datasetName, resources);
+        identifiersByDataset.put(datasetName, identifiers);
+    }
+
+    public Set<String> datasets() {
+        return resourcesByDataset.keySet();
+    }
+
+    public List<Resource> resources(String datasetName) {
+        return resourcesByDataset.get(datasetName);
+    }
+
+    public List<String> identifiers(String datasetName) {
+        return identifiersByDataset.get(datasetName);
+    }
+
+    public Collection<List<String>> allIdentifiers() {
+        return identifiersByDataset.values();
+    }
+
+    public static Path pathFor(String integratedFile) {
+        return Paths.get(integratedFile + EXTENSION);
+    }
+
+    public static MatchIndex read(Path path, Model model) throws IOException {
+        Map<String, List<Resource>> resources = new LinkedHashMap<>();
+        Map<String, List<String>> identifiers = new LinkedHashMap<>();
+        boolean clusters = false;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(MODE + "\t")) {
+                    clusters = CLUSTERS.equals(line.substring(MODE.length() + 1));
+                    continue;
+                }
+                String[] fields = line.split("\t", 3);
+                if (fields.length != 3) {
+                    throw new IOException("Invalid match index line in " + path + ": " + line);
+                }
+                resources.computeIfAbsent(fields[0], key -> new ArrayList<>()).add(model.createResource(fields[1]));
+                identifiers.computeIfAbsent(fields[0], key -> new ArrayList<>()).add(fields[2]);
+            }
+        }
+
+        MatchIndex index = new MatchIndex(clusters);
+        for (String datasetName : resources.keySet()) {
+            index.add(datasetName, resources.get(datasetName), identifiers.get(datasetName));
+        }
+        return index;
+    }
+
+    // Resources without identifier can never match and are not persisted.
+    public void write(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(MODE + "\t" + (clusters ? CLUSTERS : PAIRS) + "\n");
+            for (String datasetName : datasets()) {
+                List<Resource> resources = resources(datasetName);
+                List<String> identifiers = identifiers(datasetName);
+                for (int i = 0; i < resources.size(); i++) {
+                    if (identifiers.get(i) != null) {
+                        writer.write(datasetName + "\t" + resources.get(i).getURI() + "\t" + identifiers.get(i) + "\n");
+                    }
+                }
+            }
+        }
+    }
+}
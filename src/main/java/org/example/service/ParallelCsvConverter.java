@@ -0,0 +1,140 @@
+package org.example.service;
+
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.example.model.rdfs.NameExtractor;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.example.service.CsvReader.normalizeHeader;
+import static org.example.service.TtlWriter.writeRdfsInstances;
+import static org.example.service.TtlWriter.writeRdfsModel;
+
+public class ParallelCsvConverter {
+    private static final int CHUNK_LENGTH = 1 << 19;
+
+    public static void convert(String fileName, Class<?> clazz, char delimiter, String prefix, String prefixFullValue, NameExtractor nameExtractor, Lang lang, OutputStream out, int threads) throws IOException, ReflectiveOperationException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (CsvSplitter splitter = new CsvSplitter(new FileReader(fileName), delimiter)) {
+            RowBinder<?> binder = RowBinder.of(clazz, readHeader(splitter, delimiter));
+            out.write(convertHeader(clazz, prefix, prefixFullValue, lang));
+
+            // The calling thread only cuts the file into record-aligned chunks; the workers tokenize,
+            // bind and serialize them. A chunk starts numbering where the previous one ends, which is
+            // known as soon as the previous chunk is tokenized: tasks start in submission order on the
+            // pool, so the chunk a task waits for is always already running. Chunks are written in
+            // submission order, with at most two chunks per thread in flight, so subject numbering
+            // matches the sequential writer.
+            Deque<Future<byte[]>> pending = new ArrayDeque<>();
+            CompletableFuture<Integer> previousEnd = CompletableFuture.completedFuture(0);
+            String chunk;
+            while ((chunk = splitter.next(CHUNK_LENGTH)) != null) {
+                String text = chunk;
+                CompletableFuture<Integer> start = previousEnd;
+                CompletableFuture<Integer> end = new CompletableFuture<>();
+                pending.add(executor.submit(() -> convertChunk(clazz, binder, text, delimiter, start, end, prefix, prefixFullValue, nameExtractor, lang)));
+                previousEnd = end;
+                if (pending.size() >= 2 * threads) {
+                    out.write(await(pending.poll()));
+                }
+            }
+            while (!pending.isEmpty()) {
+                out.write(await(pending.poll()));
+            }
+            out.flush();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Leading blank lines are skipped like CsvTokenizer does.
+    private static String[] readHeader(CsvSplitter splitter, char delimiter) throws IOException {
+        String line;
+        while ((line = splitter.next(1)) != null) {
+            String[] fields = new CsvTokenizer(new StringReader(line), delimiter).next();
+            if (fields != null) {
+                return normalizeHeader(fields);
+            }
+        }
+        throw new IOException("Empty CSV file");
+    }
+
+    private static List<String[]> tokenize(String text, char delimiter) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(text), delimiter);
+        String[] record;
+        while ((record = tokenizer.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static byte[] convertHeader(Class<?> clazz, String prefix, String prefixFullValue, Lang lang) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        if (Lang.TURTLE.equals(lang)) {
+            Writer writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8);
+            writeRdfsModel(clazz, prefix, prefixFullValue, writer);
+            writer.flush();
+        } else {
+            StreamRDF output = StreamRDFWriter.getWriterStream(bytes, lang);
+            output.start();
+            RdfStreamWriter.writeRdfsModel(clazz, prefix, prefixFullValue, output);
+            output.finish();
+        }
+        return bytes.toByteArray();
+    }
+
+    // Line-based and binary row formats can be concatenated, so every chunk is written as a standalone stream.
+    private static byte[] convertChunk(Class<?> clazz, RowBinder<?> binder, String text, char delimiter, CompletableFuture<Integer> start, CompletableFuture<Integer> end,
+                                       String prefix, String prefixFullValue, NameExtractor nameExtractor, Lang lang) throws IOException, IllegalAccessException {
+        List<String[]> records;
+        int offset;
+        try {
+            records = tokenize(text, delimiter);
+            offset = start.join();
+            end.complete(offset + records.size());
+        } catch (Throwable e) {
+            end.completeExceptionally(e);
+            throw e;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Iterator<?> objects = records.stream().map(binder::bind).iterator();
+        if (Lang.TURTLE.equals(lang)) {
+            Writer writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8);
+            writeRdfsInstances(clazz, objects, offset, prefix, nameExtractor, writer);
+            writer.flush();
+        } else {
+            StreamRDF output = StreamRDFWriter.getWriterStream(bytes, lang);
+            output.start();
+            RdfStreamWriter.writeRdfsInstances(clazz, objects, offset, prefixFullValue, nameExtractor, output);
+            output.finish();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
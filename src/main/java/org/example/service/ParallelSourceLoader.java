@@ -0,0 +1,118 @@
+package org.example.service;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.system.StreamRDFBase;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.example.utils.RdfUtils.readRdf;
+
+// Parses every source on its own thread. The parsers hand their triples over in batches through a
+// bounded queue drained by the calling thread, which stays the only writer of the shared graph.
+public class ParallelSourceLoader {
+    private static final int BATCH_SIZE = 4096;
+    private static final int QUEUE_CAPACITY = 64;
+
+    private record Batch(String source, List<Triple> triples, Map<String, String> prefixes, boolean last, RuntimeException error) {
+    }
+
+    public static Map<String, SourceView> load(Model model, Map<String, String> inputFiles, List<String> classNames) throws IOException {
+        Map<String, SourceView> sources = new HashMap<>();
+        for (String source : inputFiles.keySet()) {
+            sources.put(source, new SourceView(model, classNames));
+        }
+        if (inputFiles.size() <= 1) {
+            for (Map.Entry<String, String> entry : inputFiles.entrySet()) {
+                readRdf(sources.get(entry.getKey()), entry.getValue());
+            }
+            return sources;
+        }
+
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        ExecutorService executor = Executors.newFixedThreadPool(inputFiles.size());
+        try {
+            for (Map.Entry<String, String> entry : inputFiles.entrySet()) {
+                executor.execute(() -> parse(entry.getKey(), entry.getValue(), queue));
+            }
+
+            sources.values().forEach(SourceView::start);
+            int remaining = inputFiles.size();
+            while (remaining > 0) {
+                Batch batch = queue.take();
+                if (batch.error() != null) {
+                    throw batch.error();
+                }
+                SourceView view = sources.get(batch.source());
+                batch.prefixes().forEach(view::prefix);
+                batch.triples().forEach(view::triple);
+                if (batch.last()) {
+                    remaining--;
+                }
+            }
+            sources.values().forEach(SourceView::finish);
+            return sources;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void parse(String source, String path, BlockingQueue<Batch> queue) {
+        BatchingStream stream = new BatchingStream(source, queue);
+        try {
+            readRdf(stream, path);
+            stream.send(true);
+        } catch (Throwable e) {
+            stream.offer(new Batch(source, List.of(), Map.of(), true, e instanceof RuntimeException runtimeException ? runtimeException : new RuntimeException(e)));
+        }
+    }
+
+    private static class BatchingStream extends StreamRDFBase {
+        private final String source;
+        private final BlockingQueue<Batch> queue;
+        private List<Triple> triples = new ArrayList<>(BATCH_SIZE);
+        private Map<String, String> prefixes = new LinkedHashMap<>();
+
+        BatchingStream(String source, BlockingQueue<Batch> queue) {
+            this.source = source;
+            this.queue = queue;
+        }
+
+        @Override
+        public void triple(Triple triple) {
+            triples.add(triple);
+            if (triples.size() == BATCH_SIZE) {
+                send(false);
+            }
+        }
+
+        @Override
+        public void prefix(String prefix, String iri) {
+            prefixes.put(prefix, iri);
+        }
+
+        void send(boolean last) {
+            offer(new Batch(source, triples, prefixes, last, null));
+            triples = new ArrayList<>(BATCH_SIZE);
+            prefixes = new LinkedHashMap<>();
+        }
+
+        void offer(Batch batch) {
+            try {
+                queue.put(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while parsing " + source, e);
+            }
+        }
+    }
+}
@@ -1,58 +1,292 @@
 package org.example.service;
 
+import org.apache.jena.graph.Triple;
 import org.apache.jena.query.*;
-import org.apache.jena.rdf.model.InfModel;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.reasoner.Reasoner;
 import org.apache.jena.reasoner.ReasonerRegistry;
-import org.apache.jena.util.FileManager;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.resultset.ResultSetLang;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.apache.jena.system.Txn;
 
-import java.io.IOException;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.example.utils.RdfUtils.connectTdb;
+import static org.example.utils.RdfUtils.getLang;
+import static org.example.utils.RdfUtils.readModel;
 
 public class QueryExecutor {
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    // format is "table" or a SPARQL results format (csv, tsv, json, xml) for SELECT and ASK,
+    // an RDF format (ttl, nt, ...) for CONSTRUCT and DESCRIBE; limit and offset page the results.
+    public record ResultOptions(String format, Long limit, Long offset) {
+        public static final ResultOptions DEFAULT = new ResultOptions("table", null, null);
+    }
 
     public static void executeQuery(String stringQuery, String turtleFilePath) {
+        executeQuery(stringQuery, turtleFilePath, false, ResultOptions.DEFAULT);
+    }
+
+    // A materialized input already contains its RDFS closure and is queried without a reasoner.
+    public static void executeQuery(String stringQuery, String turtleFilePath, boolean materialized, ResultOptions options) {
+        if (Files.isDirectory(Paths.get(turtleFilePath))) {
+            Dataset dataset = connectTdb(turtleFilePath);
+            Txn.executeRead(dataset, () -> executeQuery(stringQuery, dataset.getDefaultModel(), materialized, options));
+            return;
+        }
         Model model = ModelFactory.createDefaultModel();
-        FileManager.getInternal().readModel(model, turtleFilePath, "TURTLE");
+        readModel(model, turtleFilePath);
+        executeQuery(stringQuery, model, materialized, options);
+    }
 
+    // Loads the data and builds the inference model once, then runs every query against it.
+    // Inference graphs are not thread-safe, so parallel runs query a plain copy of the RDFS closure.
+    // A single thread writes every result straight to the standard output; parallel runs spool each
+    // result to a temporary file, copied to the standard output in query order, so that large
+    // results are never held in memory. A failing query is reported in its own section and the
+    // batch goes on; the number of failed queries is returned.
+    public static int executeQueries(Map<String, String> queriesByName, String turtleFilePath, boolean materialized, ResultOptions options, int threads) throws IOException {
+        Model model = ModelFactory.createDefaultModel();
+        long start = System.nanoTime();
+        readModel(model, turtleFilePath);
+        Model infModel = queryModel(model, materialized);
+        if (threads > 1 && !materialized) {
+            infModel = ModelFactory.createDefaultModel().add(infModel);
+        }
+        System.out.printf("Model loaded in %d ms (%d triples)%n", elapsedMillis(start), model.size());
+
+        PrintStream out = new PrintStream(new BufferedOutputStream(System.out, OUTPUT_BUFFER_SIZE), false, StandardCharsets.UTF_8);
+        int failures = 0;
+        if (threads <= 1) {
+            for (Map.Entry<String, String> entry : queriesByName.entrySet()) {
+                if (!executeTimedQuery(entry.getKey(), entry.getValue(), infModel, options, out)) {
+                    failures++;
+                }
+                out.flush();
+            }
+            return failures;
+        }
+
+        Model queryModel = infModel;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Deque<Future<Spool>> results = new ArrayDeque<>();
+        try {
+            for (Map.Entry<String, String> entry : queriesByName.entrySet()) {
+                results.add(executor.submit(() -> spoolTimedQuery(entry.getKey(), entry.getValue(), queryModel, options)));
+            }
+            while (!results.isEmpty()) {
+                Spool spool = results.peek().get();
+                results.poll();
+                try {
+                    Files.copy(spool.path(), out);
+                    out.flush();
+                } finally {
+                    Files.deleteIfExists(spool.path());
+                }
+                if (!spool.succeeded()) {
+                    failures++;
+                }
+            }
+            return failures;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            // Queries still queued never start and are only cancelled; the running ones are waited
+            // for so that their spool files can be removed.
+            List<Runnable> neverStarted = executor.shutdownNow();
+            for (Future<Spool> result : results) {
+                if (neverStarted.contains(result)) {
+                    result.cancel(false);
+                } else {
+                    deleteSpool(result);
+                }
+            }
+        }
+    }
+
+    private record Spool(Path path, boolean succeeded) {
+    }
+
+    private static Spool spoolTimedQuery(String name, String stringQuery, Model model, ResultOptions options) throws IOException {
+        Path spool = Files.createTempFile("query-", ".out");
+        try (PrintStream out = new PrintStream(new BufferedOutputStream(Files.newOutputStream(spool), OUTPUT_BUFFER_SIZE), false, StandardCharsets.UTF_8)) {
+            return new Spool(spool, executeTimedQuery(name, stringQuery, model, options, out));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+    }
+
+    private static void deleteSpool(Future<Spool> result) {
+        try {
+            Files.deleteIfExists(result.get().path());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | CancellationException | IOException ignored) {
+        }
+    }
+
+    private static boolean executeTimedQuery(String name, String stringQuery, Model model, ResultOptions options, PrintStream out) {
+        out.println();
+        out.println("==========================================");
+        out.println("Query: " + name);
+        out.println("==========================================");
+        out.println(stringQuery);
+        long start = System.nanoTime();
+        try {
+            writeResults(stringQuery, model, options, out);
+        } catch (RuntimeException e) {
+            out.println();
+            out.println("Error: " + e.getMessage());
+            out.printf("Failed after %d ms%n", elapsedMillis(start));
+            return false;
+        }
+        out.printf("Time: %d ms%n", elapsedMillis(start));
+        return true;
+    }
+
+    private static void executeQuery(String stringQuery, Model model, boolean materialized, ResultOptions options) {
+        OutputStream out = new BufferedOutputStream(System.out, OUTPUT_BUFFER_SIZE);
+        writeResults(stringQuery, queryModel(model, materialized), options, out);
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Model queryModel(Model model, boolean materialized) {
+        if (materialized) {
+            return model;
+        }
         Reasoner reasoner = ReasonerRegistry.getRDFSReasoner();
-        InfModel infModel = ModelFactory.createInfModel(reasoner, model);
+        return ModelFactory.createInfModel(reasoner, model);
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
 
+    private static void writeResults(String stringQuery, Model model, ResultOptions options, OutputStream out) {
         Query query = QueryFactory.create(stringQuery);
-        List<String> queryParams = query.getResultVars();
-
-        try (QueryExecution qexec = QueryExecutionFactory.create(query, infModel)) {
-            ResultSet resultSet = qexec.execSelect();
-            System.out.println("|=============================|");
-            System.out.println("|      Request Results        |");
-            System.out.println("|=============================|");
-
-            while (resultSet.hasNext()) {
-                QuerySolution solution = resultSet.next();
-
-                System.out.print("|\t");
-                for (String param : queryParams) {
-                    Object result = solution.get(param);
-                    String displayValue;
-
-                    if (result == null) {
-                        displayValue = "N/A";
-                    } else if (result instanceof org.apache.jena.rdf.model.Literal) {
-                        // Pour les littéraux, extraire uniquement la valeur sans le type
-                        displayValue = ((org.apache.jena.rdf.model.Literal) result).getLexicalForm();
-                    } else {
-                        displayValue = result.toString();
-                    }
-
-                    System.out.print("\t" + param + " : " + displayValue + " \t|");
+        page(query, options);
+
+        try (QueryExecution qexec = QueryExecutionFactory.create(query, model)) {
+            if (query.isSelectType()) {
+                ResultSet resultSet = qexec.execSelect();
+                if (isTable(options)) {
+                    writeTable(resultSet, query.getResultVars(), out);
+                } else {
+                    ResultSetFormatter.output(out, resultSet, resultsLang(options.format()));
+                }
+            } else if (query.isAskType()) {
+                boolean result = qexec.execAsk();
+                if (isTable(options)) {
+                    writeTable(result, out);
+                } else {
+                    ResultSetFormatter.output(out, result, resultsLang(options.format()));
+                }
+            } else {
+                Iterator<Triple> triples = query.isConstructType() ? qexec.execConstructTriples() : qexec.execDescribeTriples();
+                StreamRDF output = StreamRDFWriter.getWriterStream(out, isTable(options) ? Lang.TURTLE : getLang(options.format(), null));
+                output.start();
+                query.getPrefixMapping().getNsPrefixMap().forEach(output::prefix);
+                triples.forEachRemaining(output::triple);
+                output.finish();
+            }
+        }
+    }
+
+    // The requested page is taken within the results of the query, so its own LIMIT and OFFSET still apply.
+    private static void page(Query query, ResultOptions options) {
+        long offset = options.offset() != null ? options.offset() : 0;
+        if (offset > 0) {
+            query.setOffset((query.hasOffset() ? query.getOffset() : 0) + offset);
+            if (query.hasLimit()) {
+                query.setLimit(Math.max(0, query.getLimit() - offset));
+            }
+        }
+        if (options.limit() != null) {
+            query.setLimit(query.hasLimit() ? Math.min(query.getLimit(), options.limit()) : options.limit());
+        }
+    }
+
+    private static boolean isTable(ResultOptions options) {
+        return "table".equalsIgnoreCase(options.format());
+    }
+
+    private static Lang resultsLang(String format) {
+        return switch (format.toLowerCase()) {
+            case "csv" -> ResultSetLang.RS_CSV;
+            case "tsv" -> ResultSetLang.RS_TSV;
+            case "json" -> ResultSetLang.RS_JSON;
+            case "xml" -> ResultSetLang.RS_XML;
+            default -> throw new IllegalArgumentException("Unknown results format: " + format);
+        };
+    }
+
+    private static void writeTable(boolean result, OutputStream out) {
+        PrintWriter writer = tableWriter(out);
+        writer.print("|\t\task : " + result + " \t|\n");
+        writer.flush();
+    }
+
+    private static void writeTable(ResultSet resultSet, List<String> queryParams, OutputStream out) {
+        PrintWriter writer = tableWriter(out);
+        while (resultSet.hasNext()) {
+            QuerySolution solution = resultSet.next();
+
+            writer.print("|\t");
+            for (String param : queryParams) {
+                Object result = solution.get(param);
+                String displayValue;
+
+                if (result == null) {
+                    displayValue = "N/A";
+                } else if (result instanceof org.apache.jena.rdf.model.Literal) {
+                    // Pour les littéraux, extraire uniquement la valeur sans le type
+                    displayValue = ((org.apache.jena.rdf.model.Literal) result).getLexicalForm();
+                } else {
+                    displayValue = result.toString();
                 }
-                System.out.print("\n");
+
+                writer.print("\t" + param + " : " + displayValue + " \t|");
             }
+            writer.print("\n");
         }
+        writer.flush();
+    }
+
+    private static PrintWriter tableWriter(OutputStream out) {
+        PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE));
+        writer.print("|=============================|\n");
+        writer.print("|      Request Results        |\n");
+        writer.print("|=============================|\n");
+        return writer;
     }
 
     public static void main(String[] args) throws IOException {
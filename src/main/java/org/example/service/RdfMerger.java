@@ -0,0 +1,119 @@
+package org.example.service;
+
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.system.PrefixMap;
+import org.apache.jena.riot.system.PrefixMapFactory;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWrapper;
+import org.apache.jena.riot.system.StreamRDFWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.nio.file.StandardOpenOption.*;
+import static org.example.utils.RdfUtils.getLang;
+
+public class RdfMerger {
+    private static final Set<Lang> CONCATENABLE = Set.of(Lang.NTRIPLES, Lang.NQUADS);
+    private static final byte[] SEPARATOR = {'\n'};
+
+    // Line-based inputs in the output format are concatenated byte for byte; a blank node label used
+    // in several of them then denotes a single node. Otherwise the triples are parsed and streamed to
+    // the writer: a Turtle input may still use the prefixes declared by the previous ones, conflicting
+    // prefix declarations are renamed and the blank nodes of each input stay distinct.
+    public static void merge(List<String> inputFiles, String outputFile) throws IOException {
+        Lang lang = getLang(outputFile);
+        if (CONCATENABLE.contains(lang) && inputFiles.stream().allMatch(input -> getLang(input).equals(lang))) {
+            concatenate(inputFiles, Paths.get(outputFile));
+        } else {
+            stream(inputFiles, outputFile, lang);
+        }
+    }
+
+    private static void concatenate(List<String> inputFiles, Path outputFile) throws IOException {
+        try (FileChannel out = FileChannel.open(outputFile, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            for (int i = 0; i < inputFiles.size(); i++) {
+                if (i > 0) {
+                    out.write(ByteBuffer.wrap(SEPARATOR));
+                }
+                try (FileChannel in = FileChannel.open(Paths.get(inputFiles.get(i)), READ)) {
+                    long size = in.size();
+                    long position = 0;
+                    while (position < size) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void stream(List<String> inputFiles, String outputFile, Lang lang) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(Paths.get(outputFile)))) {
+            StreamRDF writer = StreamRDFWriter.getWriterStream(out, lang);
+            if (writer == null) {
+                throw new IllegalArgumentException("Output format cannot be written as a stream: " + lang.getName());
+            }
+
+            PrefixReconciler output = new PrefixReconciler(writer);
+            PrefixMap declared = PrefixMapFactory.create();
+            output.start();
+            for (String inputFile : inputFiles) {
+                RDFParser.source(inputFile)
+                        .lang(getLang(inputFile))
+                        .prefixes(PrefixMapFactory.create(declared))
+                        .parse(new StreamRDFWrapper(output) {
+                            @Override
+                            public void start() {
+                            }
+
+                            @Override
+                            public void prefix(String prefix, String iri) {
+                                declared.add(prefix, iri);
+                                super.prefix(prefix, iri);
+                            }
+
+                            @Override
+                            public void finish() {
+                            }
+                        });
+            }
+            output.finish();
+        }
+    }
+
+    // Keeps the first IRI bound to each prefix; a later declaration of the same prefix for another
+    // IRI is written under a fresh name, and an IRI that already has a prefix is not declared twice.
+    private static class PrefixReconciler extends StreamRDFWrapper {
+        private final Map<String, String> iriByPrefix = new HashMap<>();
+        private final Map<String, String> prefixByIri = new HashMap<>();
+
+        PrefixReconciler(StreamRDF writer) {
+            super(writer);
+        }
+
+        @Override
+        public void prefix(String prefix, String iri) {
+            if (prefixByIri.containsKey(iri)) {
+                return;
+            }
+            String name = prefix;
+            for (int i = 1; iriByPrefix.containsKey(name); i++) {
+                name = prefix + i;
+            }
+            iriByPrefix.put(name, iri);
+            prefixByIri.put(iri, name);
+            super.prefix(name, iri);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.service;
+
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.system.PrefixMap;
+import org.apache.jena.riot.system.PrefixMapFactory;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.example.model.rdfs.NameExtractor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.example.service.TtlWriter.calculateRange;
+import static org.example.utils.ClassUtils.getGetter;
+
+public class RdfStreamWriter {
+
+    public static void writeRdfsModel(Class<?> clazz, Stream<?> objects, String prefix, String prefixFullValue, NameExtractor nameExtractor, StreamRDF output) throws IllegalAccessException {
+        output.start();
+        writeRdfsModel(clazz, prefix, prefixFullValue, output);
+        writeRdfsInstances(clazz, objects.iterator(), 0, prefixFullValue, nameExtractor, output);
+        output.finish();
+    }
+
+    public static void writeRdfsModel(Class<?> clazz, String prefix, String prefixFullValue, StreamRDF output) {
+        PrefixMap prefixes = PrefixMapFactory.create();
+        prefixes.add(prefix, prefixFullValue);
+        prefixes.add("rdf", RDF.getURI());
+        prefixes.add("rdfs", RDFS.getURI());
+        prefixes.forEach(output::prefix);
+
+        Node classNode = NodeFactory.createURI(prefixFullValue + clazz.getSimpleName());
+        output.triple(Triple.create(classNode, RDF.Nodes.type, RDFS.Nodes.Class));
+        for (Field declaredField : clazz.getDeclaredFields()) {
+            Node property = NodeFactory.createURI(prefixFullValue + declaredField.getName());
+            String range = calculateRange(declaredField, prefix);
+            String rangeUri = prefixes.expand(range);
+            output.triple(Triple.create(property, RDF.Nodes.type, RDF.Nodes.Property));
+            output.triple(Triple.create(property, RDFS.Nodes.domain, classNode));
+            output.triple(Triple.create(property, RDFS.Nodes.range, NodeFactory.createURI(rangeUri != null ? rangeUri : range)));
+        }
+    }
+
+    public static void writeRdfsInstances(Class<?> clazz, Iterator<?> iterator, int offset, String prefixFullValue, NameExtractor nameExtractor, StreamRDF output) throws IllegalAccessException {
+        Node classNode = NodeFactory.createURI(prefixFullValue + clazz.getSimpleName());
+        Field[] fields = clazz.getDeclaredFields();
+        MethodHandle[] getters = new MethodHandle[fields.length];
+        Node[] predicates = new Node[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            getters[i] = getGetter(fields[i]);
+            predicates[i] = NodeFactory.createURI(prefixFullValue + fields[i].getName());
+        }
+
+        int i = offset;
+        while (iterator.hasNext()) {
+            Object object = iterator.next();
+            Node subject = NodeFactory.createURI(prefixFullValue + ++i);
+            output.triple(Triple.create(subject, RDF.Nodes.type, classNode));
+            for (int j = 0; j < fields.length; j++) {
+                Object value = get(getters[j], object);
+                if (value != null) {
+                    if (fields[j].getType().equals(List.class)) {
+                        for (Object item : (List<?>) value) {
+                            output.triple(Triple.create(subject, predicates[j], toNode(item, prefixFullValue, nameExtractor)));
+                        }
+                    } else {
+                        output.triple(Triple.create(subject, predicates[j], toNode(value, prefixFullValue, nameExtractor)));
+                    }
+                }
+            }
+        }
+    }
+
+    // Same terms as the Turtle writer's output once parsed: integers are xsd:integer, doubles
+    // are xsd:double when written with an exponent and xsd:decimal otherwise.
+    private static Node toNode(Object value, String prefixFullValue, NameExtractor nameExtractor) {
+        if (value instanceof String string) {
+            return NodeFactory.createLiteral(string);
+        }
+        if (value instanceof Integer || value instanceof Long) {
+            return NodeFactory.createLiteral(value.toString(), XSDDatatype.XSDinteger);
+        }
+        if (value instanceof Double) {
+            String lexicalForm = value.toString();
+            return NodeFactory.createLiteral(lexicalForm, lexicalForm.contains("E") ? XSDDatatype.XSDdouble : XSDDatatype.XSDdecimal);
+        }
+        return NodeFactory.createURI(prefixFullValue + nameExtractor.getName(value));
+    }
+
+    private static Object get(MethodHandle getter, Object object) {
+        try {
+            return (Object) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
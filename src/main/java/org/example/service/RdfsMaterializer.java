@@ -0,0 +1,42 @@
+package org.example.service;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.InfModel;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.reasoner.ReasonerRegistry;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.apache.jena.util.iterator.ExtendedIterator;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.example.utils.RdfUtils.getLang;
+import static org.example.utils.RdfUtils.readModel;
+
+public class RdfsMaterializer {
+
+    public static void materialize(String inputPath, String outputPath) throws IOException {
+        Model model = ModelFactory.createDefaultModel();
+        readModel(model, inputPath);
+        InfModel infModel = ModelFactory.createInfModel(ReasonerRegistry.getRDFSReasoner(), model);
+
+        long count = 0;
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(outputPath))) {
+            StreamRDF output = StreamRDFWriter.getWriterStream(out, getLang(outputPath));
+            output.start();
+            model.getNsPrefixMap().forEach(output::prefix);
+            ExtendedIterator<Triple> triples = infModel.getGraph().find();
+            while (triples.hasNext()) {
+                output.triple(triples.next());
+                count++;
+            }
+            output.finish();
+        }
+
+        System.out.println("RDFS closure: " + model.size() + " asserted triples, " + count + " after inference. Output written to: " + outputPath);
+    }
+}
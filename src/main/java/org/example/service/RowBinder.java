@@ -0,0 +1,132 @@
+package org.example.service;
+
+import org.example.model.csv.Column;
+import org.example.model.csv.Ignore;
+import org.example.model.csv.Remove;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.example.utils.ClassUtils.getItemType;
+
+public class RowBinder<T> {
+    private static final Map<Class<?>, Function<String, Object>> CONVERTERS = Map.of(
+            String.class, value -> value,
+            Long.class, Long::parseLong,
+            Integer.class, Integer::parseInt,
+            LocalDate.class, LocalDate::parse,
+            Double.class, Double::parseDouble,
+            Boolean.class, Boolean::parseBoolean
+    );
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final String[] columns;
+    private final ColumnBinding[] bindings;
+
+    private RowBinder(Class<T> type, MethodHandle constructor, String[] columns, ColumnBinding[] bindings) {
+        this.type = type;
+        this.constructor = constructor;
+        this.columns = columns;
+        this.bindings = bindings;
+    }
+
+    public static <T> RowBinder<T> of(Class<T> type, String[] columns) throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+                .asType(MethodType.methodType(Object.class));
+
+        ColumnBinding[] bindings = new ColumnBinding[columns.length];
+        for (int i = 0; i < columns.length; ++i) {
+            Field field = findField(type, columns[i]);
+            if (field != null) {
+                bindings[i] = bind(lookup, field);
+            }
+        }
+        return new RowBinder<>(type, constructor, columns, bindings);
+    }
+
+    public T bind(String[] values) {
+        try {
+            T instance = type.cast((Object) constructor.invokeExact());
+            for (int i = 0; i < bindings.length; ++i) {
+                if (isNotBlank(values[i])) {
+                    if (bindings[i] == null) {
+                        throw new NoSuchFieldException(columns[i]);
+                    }
+                    bindings[i].set(instance, values[i]);
+                }
+            }
+            return instance;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static ColumnBinding bind(MethodHandles.Lookup lookup, Field field) throws IllegalAccessException {
+        MethodHandle setter = lookup.unreflectSetter(field)
+                .asType(MethodType.methodType(void.class, Object.class, Object.class));
+
+        Set<String> ignored = field.isAnnotationPresent(Ignore.class)
+                ? new HashSet<>(Arrays.asList(field.getAnnotation(Ignore.class).value().split(",")))
+                : Collections.emptySet();
+
+        String removed = field.isAnnotationPresent(Remove.class) ? field.getAnnotation(Remove.class).regex() : null;
+
+        return new ColumnBinding(setter, ignored, removed, converter(field));
+    }
+
+    private static Function<String, Object> converter(Field field) {
+        if (field.getType().equals(List.class)) {
+            Function<String, Object> itemConverter = CONVERTERS.get(getItemType(field));
+            if (itemConverter == null) {
+                throw new IllegalArgumentException();
+            }
+            return value -> Arrays.stream(value.split(","))
+                    .map(String::trim)
+                    .map(itemConverter)
+                    .collect(Collectors.toList());
+        }
+        Function<String, Object> converter = CONVERTERS.get(field.getType());
+        if (converter == null) {
+            throw new IllegalStateException();
+        }
+        return converter;
+    }
+
+    private static Field findField(Class<?> type, String column) {
+        try {
+            return type.getDeclaredField(column);
+        } catch (NoSuchFieldException e) {
+            return Arrays.stream(type.getDeclaredFields())
+                    .filter(f -> f.isAnnotationPresent(Column.class) && f.getAnnotation(Column.class).name().equals(column))
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+
+    private static boolean isNotBlank(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private record ColumnBinding(MethodHandle setter, Set<String> ignored, String removed, Function<String, Object> converter) {
+
+        void set(Object instance, String value) throws Throwable {
+            if (ignored.contains(value))
+                return;
+
+            if (removed != null)
+                value = value.replace(removed, "");
+
+            setter.invokeExact(instance, converter.apply(value));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.service;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.riot.system.StreamRDFWrapper;
+import org.apache.jena.vocabulary.RDF;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.example.utils.RdfUtils.readRdf;
+
+// A source parsed straight into the shared graph. Only what the integration needs is kept per
+// source: the number of triples its parser emitted and its resources of the classes to unify.
+// Both are counted on what the source emits, not on what is new to the shared graph, so they do
+// not depend on the order in which concurrently loaded sources reach the graph.
+public class SourceView extends StreamRDFWrapper {
+    private final Model model;
+    private final List<String> classNames;
+    private final Set<Resource> resources = new LinkedHashSet<>();
+    private long size;
+
+    public SourceView(Model model, List<String> classNames) {
+        super(StreamRDFLib.graph(model.getGraph()));
+        this.model = model;
+        this.classNames = classNames;
+    }
+
+    public static SourceView load(Model model, String path, List<String> classNames) {
+        SourceView view = new SourceView(model, classNames);
+        readRdf(view, path);
+        return view;
+    }
+
+    @Override
+    public void triple(Triple triple) {
+        super.triple(triple);
+        size++;
+        if (triple.getPredicate().equals(RDF.Nodes.type) && triple.getObject().isURI()
+                && classNames.contains(triple.getObject().getLocalName())) {
+            resources.add(model.wrapAsResource(triple.getSubject()));
+        }
+    }
+
+    public List<Resource> resources() {
+        return new ArrayList<>(resources);
+    }
+
+    public long size() {
+        return size;
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.service;
+
+import org.apache.jena.query.Dataset;
+import org.apache.jena.tdb2.TDB2Factory;
+import org.apache.jena.tdb2.loader.DataLoader;
+import org.apache.jena.tdb2.loader.LoaderFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.example.utils.RdfUtils.isTdbDirectory;
+
+public class TdbLoader {
+
+    // Loads into an existing TDB2 store, or creates one in a missing or empty directory; any other
+    // directory is refused rather than filled with TDB2 files.
+    public static void load(String directory, List<String> files) throws IOException {
+        if (!isTdbDirectory(directory) && !isMissingOrEmpty(Paths.get(directory))) {
+            throw new IllegalArgumentException("Not a TDB2 store and not empty: " + directory);
+        }
+        Dataset dataset = TDB2Factory.connectDataset(directory);
+        DataLoader loader = LoaderFactory.createLoader(dataset.asDatasetGraph(), (format, args) -> System.out.printf(format + "%n", args));
+        loader.startBulk();
+        try {
+            loader.load(files);
+            loader.finishBulk();
+        } catch (RuntimeException e) {
+            try {
+                loader.finishException(e);
+            } catch (RuntimeException abortException) {
+                e.addSuppressed(abortException);
+            }
+            throw e;
+        }
+        System.out.println("Loaded " + loader.countTriples() + " triples into: " + directory);
+    }
+
+    private static boolean isMissingOrEmpty(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return true;
+        }
+        if (!Files.isDirectory(directory)) {
+            return false;
+        }
+        try (Stream<Path> entries = Files.list(directory)) {
+            return entries.findAny().isEmpty();
+        }
+    }
+}
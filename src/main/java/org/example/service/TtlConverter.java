@@ -1,27 +1,34 @@
 package org.example.service;
 
-import org.apache.jena.rdf.model.Model;
-import org.apache.jena.rdf.model.ModelFactory;
-import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.system.StreamRDFWrapper;
+import org.apache.jena.riot.system.StreamRDFWriter;
 
 import java.io.*;
 import java.util.Map;
 
+import static org.example.utils.RdfUtils.getLang;
+
 public class TtlConverter {
 
 
-    public static void convertToTtl(String format, String source, Map<String, String> prefixMap, Writer target) throws IOException {
-        Model tempModel = ModelFactory.createDefaultModel();
-        FileInputStream in = new FileInputStream(source);
-        tempModel.read(in, null, format);
-        Model modelWithPrefixes = ModelFactory.createDefaultModel();
-        for (Map.Entry<String, String> entry : prefixMap.entrySet()) {
-            System.out.println(":" + entry.getValue());
-            modelWithPrefixes.setNsPrefix(entry.getKey(), entry.getValue());
-        }
-        modelWithPrefixes.add(tempModel);
-        RDFDataMgr.write(target, modelWithPrefixes, RDFFormat.TURTLE_BLOCKS);
+    // Triples go straight from the source parser to a Turtle blocks writer, so the graph is never held in memory;
+    // the given prefixes are declared as soon as the stream starts.
+    public static void convertToTtl(String format, String source, Map<String, String> prefixMap, OutputStream target) throws IOException {
+        OutputStream out = new BufferedOutputStream(target);
+        RDFParser.source(source)
+                .lang(getLang(format, source))
+                .parse(new StreamRDFWrapper(StreamRDFWriter.getWriterStream(out, RDFFormat.TURTLE_BLOCKS)) {
+                    @Override
+                    public void start() {
+                        super.start();
+                        for (Map.Entry<String, String> entry : prefixMap.entrySet()) {
+                            System.out.println(":" + entry.getValue());
+                            super.prefix(entry.getKey(), entry.getValue());
+                        }
+                    }
+                });
+        out.flush();
     }
-
 }
@@ -1,21 +1,205 @@
 package org.example.service;
 
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QueryFactory;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWriter;
 import org.apache.jena.sparql.exec.http.QueryExecutionHTTP;
 
-import java.io.Writer;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
 
 public class TtlImporter {
+    private static final long TIMEOUT_MILLIS = 120000;
+    private static final long BACKOFF_MILLIS = 1000;
+    private static final String CHECKPOINT_EXTENSION = ".checkpoint";
 
 
     public static void importFrom(String url, String query, Writer target){
         Model model = QueryExecutionHTTP.create()
                 .endpoint(url)
                 .query(query)
-                .timeout(120000)
+                .timeout(TIMEOUT_MILLIS)
                 .construct();
 
         model.write(target, "TURTLE");
     }
 
+    // The CONSTRUCT query is split with LIMIT/OFFSET and every page is appended to the target once complete,
+    // in N-Triples syntax (also valid Turtle) so that pages can be appended independently. A checkpoint next
+    // to the target records the next page and the output length; an interrupted import resumes from it, and
+    // it is removed when the endpoint returns an empty page.
+    // Up to concurrency pages are fetched at once, but they are written strictly in page order.
+    public static void importPaged(String url, String stringQuery, String target, long pageSize, int retries, int concurrency) throws IOException {
+        Query query = QueryFactory.create(stringQuery);
+        if (!query.isConstructType()) {
+            throw new IllegalArgumentException("Paged import requires a CONSTRUCT query");
+        }
+
+        Path checkpointPath = Paths.get(target + CHECKPOINT_EXTENSION);
+        Checkpoint checkpoint = Checkpoint.read(checkpointPath, stringQuery, pageSize);
+        if (checkpoint.page() > 0) {
+            System.out.println("Resuming import at page " + checkpoint.page());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try (FileChannel out = FileChannel.open(Paths.get(target), CREATE, WRITE)) {
+            if (out.size() < checkpoint.bytes()) {
+                throw new IllegalStateException("Target " + target + " is shorter than its checkpoint (" + out.size() + " < " + checkpoint.bytes() + " bytes); delete " + checkpointPath + " to restart the import");
+            }
+            out.truncate(checkpoint.bytes());
+            out.position(checkpoint.bytes());
+
+            Deque<Future<byte[]>> pending = new ArrayDeque<>();
+            long page = checkpoint.page();
+            long nextPage = page;
+            while (true) {
+                Query pageQuery;
+                while (pending.size() < concurrency && (pageQuery = pageQuery(query, nextPage, pageSize)) != null) {
+                    Query fetched = pageQuery;
+                    pending.add(executor.submit(() -> fetchPage(url, fetched, retries)));
+                    nextPage++;
+                }
+                if (pending.isEmpty()) {
+                    break;
+                }
+
+                byte[] triples = await(pending.poll());
+                if (triples.length == 0) {
+                    break;
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(triples);
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                out.force(false);
+
+                page++;
+                checkpoint = new Checkpoint(checkpoint.query(), pageSize, page, out.position());
+                checkpoint.write(checkpointPath);
+                System.out.println("Page " + page + " imported (" + out.position() + " bytes)");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Files.deleteIfExists(checkpointPath);
+    }
+
+    // Null once the page starts past the LIMIT of the original query.
+    static Query pageQuery(Query query, long page, long pageSize) {
+        long start = page * pageSize;
+        long limit = pageSize;
+        if (query.hasLimit()) {
+            limit = Math.min(limit, query.getLimit() - start);
+            if (limit <= 0) {
+                return null;
+            }
+        }
+        Query pageQuery = query.cloneQuery();
+        pageQuery.setOffset((query.hasOffset() ? query.getOffset() : 0) + start);
+        pageQuery.setLimit(limit);
+        return pageQuery;
+    }
+
+    // A page is fetched entirely before being written so that a failed attempt leaves no partial output.
+    static byte[] fetchPage(String url, Query query, int retries) throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            try (QueryExecution qexec = QueryExecutionHTTP.create()
+                    .endpoint(url)
+                    .query(query)
+                    .timeout(TIMEOUT_MILLIS)
+                    .build()) {
+                ByteArrayOutputStream page = new ByteArrayOutputStream();
+                StreamRDF writer = StreamRDFWriter.getWriterStream(page, Lang.NTRIPLES);
+                writer.start();
+                qexec.execConstructTriples().forEachRemaining(writer::triple);
+                writer.finish();
+                return page.toByteArray();
+            } catch (RuntimeException e) {
+                if (attempt >= retries) {
+                    throw e;
+                }
+                long delay = BACKOFF_MILLIS << attempt;
+                System.err.println("Page at offset " + query.getOffset() + " failed (" + e.getMessage() + "), retrying in " + delay + " ms");
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+        }
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private record Checkpoint(String query, long pageSize, long page, long bytes) {
+
+        static Checkpoint read(Path path, String query, long pageSize) throws IOException {
+            String fingerprint = Integer.toHexString(query.hashCode());
+            if (!Files.exists(path)) {
+                return new Checkpoint(fingerprint, pageSize, 0, 0);
+            }
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(path)) {
+                properties.load(reader);
+            }
+            Checkpoint checkpoint = new Checkpoint(
+                    properties.getProperty("query"),
+                    Long.parseLong(properties.getProperty("pageSize")),
+                    Long.parseLong(properties.getProperty("page")),
+                    Long.parseLong(properties.getProperty("bytes")));
+            if (!checkpoint.query().equals(fingerprint) || checkpoint.pageSize() != pageSize) {
+                throw new IllegalStateException("Checkpoint " + path + " belongs to another query or page size; delete it to restart the import");
+            }
+            return checkpoint;
+        }
+
+        // Written to a temporary file and moved over the previous checkpoint so that it is never left half written.
+        void write(Path path) throws IOException {
+            Properties properties = new Properties();
+            properties.setProperty("query", query);
+            properties.setProperty("pageSize", Long.toString(pageSize));
+            properties.setProperty("page", Long.toString(page));
+            properties.setProperty("bytes", Long.toString(bytes));
+            Path temporary = Paths.get(path + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temporary)) {
+                properties.store(writer, null);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
 }
@@ -5,10 +5,14 @@ import org.example.model.rdfs.Range;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
+import static org.example.utils.ClassUtils.getGetter;
 import static org.example.utils.ClassUtils.getItemType;
 
 public class TtlWriter {
@@ -22,63 +26,104 @@ public class TtlWriter {
             long.class
     );
 
-    public static void writeRdfsModel(Class<?> clazz, List<?> objects, String prefix, String prefixFullValue,  NameExtractor nameExtractor, Writer writer) throws IOException, IllegalAccessException {
+    private static final int FLUSH_THRESHOLD = 8192;
+
+    public static void writeRdfsModel(Class<?> clazz, Stream<?> objects, String prefix, String prefixFullValue,  NameExtractor nameExtractor, Writer writer) throws IOException, IllegalAccessException {
         writeRdfsModel(clazz, prefix, prefixFullValue, writer);
-        int i = 0;
-        for (Object object : objects) {
-            writer.write(String.format("%s:%d a %s:%s .\n", prefix, ++i, prefix, clazz.getSimpleName()));
-            for(Field field : clazz.getDeclaredFields()) {
-                boolean accessible = field.canAccess(object);
-                field.setAccessible(true);
-                Object value = field.get(object);
-                field.setAccessible(accessible);
-                if(value!=null) {
-                    if (field.getType().equals(List.class)) {
+        writeRdfsInstances(clazz, objects.iterator(), 0, prefix, nameExtractor, writer);
+        writer.flush();
+    }
+
+    public static void writeRdfsInstances(Class<?> clazz, Iterator<?> iterator, int offset, String prefix, NameExtractor nameExtractor, Writer writer) throws IOException, IllegalAccessException {
+        String subjectPrefix = prefix + ":";
+        String typeStatement = " a " + prefix + ":" + clazz.getSimpleName() + " .\n";
+        PropertyWriter[] properties = propertyWriters(clazz, prefix);
+        StringBuilder buffer = new StringBuilder(2 * FLUSH_THRESHOLD);
+        char[] chars = new char[0];
+
+        int i = offset;
+        while (iterator.hasNext()) {
+            Object object = iterator.next();
+            buffer.append(subjectPrefix).append(++i).append(typeStatement);
+            for (PropertyWriter property : properties) {
+                Object value = property.get(object);
+                if (value != null) {
+                    if (property.list()) {
                         for (Object item : (List<?>) value) {
-                            writeRdfsProperty(
-                                    String.format("%s:%d", prefix, i),
-                                    String.format("%s:%s", prefix, field.getName()),
-                                    item,
-                                    nameExtractor,
-                                    writer
-                            );
+                            writeRdfsProperty(buffer, subjectPrefix, i, property.predicate(), item, nameExtractor);
                         }
                     } else {
-                        writeRdfsProperty(
-                                String.format("%s:%d", prefix, i),
-                                String.format("%s:%s", prefix, field.getName()),
-                                value,
-                                nameExtractor,
-                                writer
-                        );
+                        writeRdfsProperty(buffer, subjectPrefix, i, property.predicate(), value, nameExtractor);
                     }
                 }
             }
+            if (buffer.length() >= FLUSH_THRESHOLD) {
+                chars = flush(buffer, chars, writer);
+            }
         }
-        writer.flush();
+        flush(buffer, chars, writer);
     }
 
-    private static void writeRdfsProperty(String subject, String predicate, Object value, NameExtractor nameExtractor, Writer writer) throws IOException {
-        String serializedValue;
-        if(!DEFAULT_LITERAL_TYPES.contains(value.getClass())) {
-            serializedValue = String.format(":%s", nameExtractor.getName(value));
-        }else{
-            if(value.getClass().equals(String.class)) {
-                // Escape quotes and backslashes in string literals for Turtle syntax
-                String escapedValue = value.toString()
-                    .replace("\\", "\\\\")  // Escape backslashes first
-                    .replace("\"", "\\\"")  // Escape double quotes
-                    .replace("\n", "\\n")   // Escape newlines
-                    .replace("\r", "\\r")   // Escape carriage returns
-                    .replace("\t", "\\t");  // Escape tabs
-                serializedValue = String.format("\"%s\"", escapedValue);
+    private static void writeRdfsProperty(StringBuilder buffer, String subjectPrefix, int subject, String predicate, Object value, NameExtractor nameExtractor) {
+        buffer.append(subjectPrefix).append(subject).append(predicate);
+        if (value instanceof String string) {
+            buffer.append('"');
+            appendEscaped(buffer, string);
+            buffer.append('"');
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Double) {
+            buffer.append(value);
+        } else {
+            buffer.append(':').append(nameExtractor.getName(value));
+        }
+        buffer.append(" .\n");
+    }
+
+    // Escapes backslashes, double quotes, newlines, carriage returns and tabs for Turtle string literals
+    private static void appendEscaped(StringBuilder buffer, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '"' -> buffer.append("\\\"");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                case '\t' -> buffer.append("\\t");
+                default -> buffer.append(c);
+            }
+        }
+    }
+
+    private static char[] flush(StringBuilder buffer, char[] chars, Writer writer) throws IOException {
+        if (chars.length < buffer.length()) {
+            chars = new char[buffer.capacity()];
+        }
+        buffer.getChars(0, buffer.length(), chars, 0);
+        writer.write(chars, 0, buffer.length());
+        buffer.setLength(0);
+        return chars;
+    }
+
+    private static PropertyWriter[] propertyWriters(Class<?> clazz, String prefix) throws IllegalAccessException {
+        Field[] fields = clazz.getDeclaredFields();
+        PropertyWriter[] properties = new PropertyWriter[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            properties[i] = new PropertyWriter(getGetter(fields[i]), " " + prefix + ":" + fields[i].getName() + " ", fields[i].getType().equals(List.class));
+        }
+        return properties;
+    }
+
+    private record PropertyWriter(MethodHandle getter, String predicate, boolean list) {
+
+        Object get(Object object) {
+            try {
+                return (Object) getter.invokeExact(object);
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
             }
-            else serializedValue = String.valueOf(value);
         }
-        writer.write(String.format("%s %s %s .\n", subject, predicate, serializedValue));
     }
 
-    private static void writeRdfsModel(Class<?> clazz, String prefix, String prefixFullValue, Writer writer) throws IOException {
+    public static void writeRdfsModel(Class<?> clazz, String prefix, String prefixFullValue, Writer writer) throws IOException {
         writer.write(String.format("@prefix %s: <%s> .\n", prefix, prefixFullValue));
         writer.write("@prefix rdf: <http://www.w3.org/1999/02/22-rdf-syntax-ns#> .\n");
         writer.write("@prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .\n");
@@ -92,7 +137,7 @@ public class TtlWriter {
         }
     }
 
-    private static String calculateRange(Field field, String prefix) {
+    static String calculateRange(Field field, String prefix) {
         Class<?> type = field.getType();
 
         if(type.equals(List.class)){
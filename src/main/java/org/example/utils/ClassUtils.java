@@ -1,5 +1,8 @@
 package org.example.utils;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -14,4 +17,10 @@ public class ClassUtils {
         }
         throw new IllegalArgumentException();
     }
+
+    public static MethodHandle getGetter(Field field) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                .unreflectGetter(field)
+                .asType(MethodType.methodType(Object.class, Object.class));
+    }
 }
@@ -0,0 +1,56 @@
+package org.example.utils;
+
+public class EditDistance {
+
+    // Largest Levenshtein distance d for which 1 - d / maxLength stays above the threshold.
+    public static int maxDistance(int maxLength, double threshold) {
+        int distance = 0;
+        while (1.0 - ((double) (distance + 1) / maxLength) > threshold) {
+            distance++;
+        }
+        return distance;
+    }
+
+    // Levenshtein distance restricted to the diagonal band |i - j| <= maxDistance, with rolling rows.
+    // Returns maxDistance + 1 as soon as the distance is known to exceed maxDistance.
+    public static int boundedDistance(String s1, String s2, int maxDistance) {
+        int length1 = s1.length();
+        int length2 = s2.length();
+        int exceeded = maxDistance + 1;
+        if (Math.abs(length1 - length2) > maxDistance) {
+            return exceeded;
+        }
+
+        int[] previous = new int[length2 + 1];
+        int[] current = new int[length2 + 1];
+        for (int j = 0; j <= length2; j++) {
+            previous[j] = Math.min(j, exceeded);
+        }
+
+        for (int i = 1; i <= length1; i++) {
+            int from = Math.max(1, i - maxDistance);
+            int to = Math.min(length2, i + maxDistance);
+            current[from - 1] = from == 1 ? Math.min(i, exceeded) : exceeded;
+            int rowMin = current[from - 1];
+
+            char c1 = s1.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int cost = c1 == s2.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                current[j] = Math.min(value, exceeded);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < length2) {
+                current[to + 1] = exceeded;
+            }
+            if (rowMin > maxDistance) {
+                return exceeded;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[length2];
+    }
+}
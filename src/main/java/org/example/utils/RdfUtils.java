@@ -0,0 +1,86 @@
+package org.example.utils;
+
+import org.apache.jena.query.Dataset;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFOps;
+import org.apache.jena.system.Txn;
+import org.apache.jena.tdb2.TDB2Factory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+public class RdfUtils {
+    private static final String TDB_LOCK = "tdb.lock";
+    private static final Pattern TDB_DATA_DIRECTORY = Pattern.compile("Data-\\d+");
+
+    public static Lang getLang(String filePath) {
+        return RDFLanguages.filenameToLang(filePath, Lang.TURTLE);
+    }
+
+    public static Lang getLang(String format, String filePath) {
+        if (format == null) {
+            return getLang(filePath);
+        }
+        Lang lang = RDFLanguages.fileExtToLang(format);
+        if (lang == null) {
+            lang = RDFLanguages.nameToLang(format);
+        }
+        if (lang == null) {
+            throw new IllegalArgumentException("Unknown RDF format: " + format);
+        }
+        return lang;
+    }
+
+    // A directory has the TDB2 layout if it holds the TDB2 lock file or a Data-NNNN generation directory.
+    public static boolean isTdbDirectory(String path) {
+        Path directory = Paths.get(path);
+        if (!Files.isDirectory(directory)) {
+            return false;
+        }
+        if (Files.exists(directory.resolve(TDB_LOCK))) {
+            return true;
+        }
+        try (Stream<Path> entries = Files.list(directory)) {
+            return entries.anyMatch(entry -> Files.isDirectory(entry) && TDB_DATA_DIRECTORY.matcher(entry.getFileName().toString()).matches());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // A directory given as input is read as a TDB2 store, but only if it has the TDB2 layout:
+    // connecting to any other directory would silently turn it into an empty store.
+    public static Dataset connectTdb(String directory) {
+        if (!isTdbDirectory(directory)) {
+            throw new IllegalArgumentException("Not a TDB2 store (no Data-NNNN directory or " + TDB_LOCK + "): " + directory);
+        }
+        return TDB2Factory.connectDataset(directory);
+    }
+
+    public static void readModel(Model model, String path) {
+        if (Files.isDirectory(Paths.get(path))) {
+            Dataset dataset = connectTdb(path);
+            Txn.executeRead(dataset, () -> model.add(dataset.getDefaultModel()));
+        } else {
+            RDFDataMgr.read(model, path, getLang(path));
+        }
+    }
+
+    public static void readRdf(StreamRDF stream, String path) {
+        if (Files.isDirectory(Paths.get(path))) {
+            Dataset dataset = connectTdb(path);
+            Txn.executeRead(dataset, () -> StreamRDFOps.sendGraphToStream(dataset.asDatasetGraph().getDefaultGraph(), stream));
+        } else {
+            RDFParser.source(path).lang(getLang(path)).parse(stream);
+        }
+    }
+}